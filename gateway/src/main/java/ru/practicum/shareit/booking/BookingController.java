@@ -7,14 +7,19 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.exceptions.UnknownStateException;
 
 import javax.validation.Valid;
 import javax.validation.ValidationException;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 import static ru.practicum.shareit.Constants.USER_ID;
 
@@ -24,10 +29,12 @@ import static ru.practicum.shareit.Constants.USER_ID;
 @Slf4j
 @Validated
 public class BookingController {
+	private static final int MAX_BATCH_SIZE = 100;
+
 	private final BookingClient bookingClient;
 
 	@PostMapping
-	public ResponseEntity<Object> createBooking(@Positive @RequestHeader(USER_ID) long userId,
+	public Mono<ResponseEntity<Object>> createBooking(@Positive @RequestHeader(USER_ID) long userId,
 												@RequestBody @Valid BookItemRequestDto requestDto) {
 		log.info("Creating booking {}, userId={}", requestDto, userId);
 		if (requestDto.getStart().isAfter(requestDto.getEnd()) || requestDto.getEnd().equals(requestDto.getStart())) {
@@ -37,14 +44,14 @@ public class BookingController {
 	}
 
 	@GetMapping("/{bookingId}")
-	public ResponseEntity<Object> getBooking(@Positive @RequestHeader(USER_ID) long userId,
+	public Mono<ResponseEntity<Object>> getBooking(@Positive @RequestHeader(USER_ID) long userId,
 											 @Positive @PathVariable long bookingId) {
 		log.info("Get booking {}, userId={}", bookingId, userId);
 		return bookingClient.getBooking(userId, bookingId);
 	}
 
 	@GetMapping
-	public ResponseEntity<Object> getBookings(@RequestHeader(USER_ID) long userId,
+	public Mono<ResponseEntity<Object>> getBookings(@RequestHeader(USER_ID) long userId,
 											  @RequestParam(name = "state", defaultValue = "all") String stateParam,
 			@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
 			@Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
@@ -55,7 +62,7 @@ public class BookingController {
 	}
 
 	@GetMapping("/owner")
-	public ResponseEntity<Object> getBookingsAllOrByStateForOwner(@RequestHeader(USER_ID) long userId,
+	public Mono<ResponseEntity<Object>> getBookingsAllOrByStateForOwner(@RequestHeader(USER_ID) long userId,
 											  @RequestParam(name = "state", defaultValue = "all") String stateParam,
 											  @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
 											  @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
@@ -65,8 +72,38 @@ public class BookingController {
 		return bookingClient.getByOwner(userId, state, from, size);
 	}
 
+	@GetMapping(params = "cursor")
+	public Mono<ResponseEntity<Object>> getBookingsByCursor(@RequestHeader(USER_ID) long userId,
+													  @RequestParam(name = "state", defaultValue = "all") String stateParam,
+													  @RequestParam(name = "cursor") String cursor,
+													  @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+		BookingState state = BookingState.from(stateParam)
+				.orElseThrow(() -> new UnknownStateException(stateParam));
+		log.info("Get booking with state {}, userId={}, cursor={}, size={}", stateParam, userId, cursor, size);
+		return bookingClient.getBookingsByCursor(userId, state, cursor, size);
+	}
+
+	@GetMapping(value = "/owner", params = "cursor")
+	public Mono<ResponseEntity<Object>> getBookingsForOwnerByCursor(@RequestHeader(USER_ID) long userId,
+															  @RequestParam(name = "state", defaultValue = "all") String stateParam,
+															  @RequestParam(name = "cursor") String cursor,
+															  @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+		BookingState state = BookingState.from(stateParam)
+				.orElseThrow(() -> new UnknownStateException(stateParam));
+		log.info("Get owner bookings with state {}, userId={}, cursor={}, size={}", stateParam, userId, cursor, size);
+		return bookingClient.getByOwnerByCursor(userId, state, cursor, size);
+	}
+
+	@PatchMapping("/batch")
+	public Mono<ResponseEntity<Object>> setApproveToBookings(@Positive @RequestHeader(USER_ID) long userId,
+															 @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+															 List<@Valid BookingApprovalDto> approvals) {
+		log.info("Set approve to {} bookings, userId={}", approvals.size(), userId);
+		return bookingClient.updateAll(userId, approvals);
+	}
+
 	@PatchMapping("{bookingId}")
-	public ResponseEntity<Object> setApproveToBooking(@Positive @RequestHeader(USER_ID) long userId,
+	public Mono<ResponseEntity<Object>> setApproveToBooking(@Positive @RequestHeader(USER_ID) long userId,
 													   @Positive @PathVariable Long bookingId,
 													   @RequestParam(value = "approved") final Boolean approved) {
 		log.info("Get booking with userId={}, bookingId={}, approved={}", userId, bookingId, approved);
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.dto;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingApprovalDto {
+	@NotNull(message = "Не указан id бронирования")
+	@Positive
+	private Long bookingId;
+	@NotNull(message = "Не указано решение по бронированию")
+	private Boolean approved;
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки пула соединений gateway -> server.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.http-client")
+public class HttpClientProperties {
+
+    private int maxConnections = 1000;
+
+    /**
+     * Сколько запросов может ждать свободное соединение, -1 - без ограничения.
+     */
+    private int pendingAcquireMaxCount = -1;
+
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Соединения, простаивающие дольше этого времени, закрываются.
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(60);
+
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+
+    private Duration evictionInterval = Duration.ofSeconds(30);
+}
@@ -0,0 +1,188 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Кэш успешных ответов сервера по пути ресурса и X-Sharer-User-Id.
+ * Записи удаляются, когда через gateway проходит запрос, изменяющий этот путь.
+ */
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCache {
+
+    private static final String CACHE_NAME = "gateway.responses";
+    private static final int GENERATION_STRIPES = 64;
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final boolean enabled;
+    private final Cache<String, ResponseEntity<Object>> cache;
+
+    /**
+     * Меняется при каждой инвалидации; увеличивается раньше поколений путей.
+     */
+    private final AtomicLong writes = new AtomicLong();
+
+    /**
+     * Поколения путей по хэшу пути: ответ, запрошенный до изменения пути, в кэш уже не попадет,
+     * а изменение другого пути ему не мешает.
+     */
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public ResponseCache(ResponseCacheProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME));
+    }
+
+    public Mono<ResponseEntity<Object>> get(String path, Supplier<Mono<ResponseEntity<Object>>> loader) {
+        return get(path, null, loader);
+    }
+
+    public Mono<ResponseEntity<Object>> get(String path, Long userId, Supplier<Mono<ResponseEntity<Object>>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        String key = userId != null ? path + "|" + userId : path;
+        int stripe = stripe(path);
+        return Mono.defer(() -> {
+            ResponseEntity<Object> cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            long requestGeneration = generations.get(stripe);
+            return loader.get().doOnNext(response -> {
+                if (response.getStatusCode().is2xxSuccessful() && generations.get(stripe) == requestGeneration) {
+                    cache.put(key, response);
+                    if (generations.get(stripe) != requestGeneration) {
+                        cache.asMap().remove(key, response);
+                    }
+                }
+            });
+        });
+    }
+
+    /**
+     * Номер последней инвалидации; BaseClient добавляет его к ключу одинаковых одновременных GET-запросов.
+     */
+    public long writeGeneration() {
+        return writes.get();
+    }
+
+    /**
+     * После изменяющего запроса удаляет закэшированные ответы перечисленных путей, например "/items/1",
+     * для всех пользователей.
+     */
+    public Mono<ResponseEntity<Object>> evictAfter(Mono<ResponseEntity<Object>> write, String... paths) {
+        if (!enabled || paths.length == 0) {
+            return write;
+        }
+        List<String> evicted = List.of(paths);
+        return write
+                .doOnTerminate(() -> evict(evicted))
+                .doOnCancel(() -> evict(evicted));
+    }
+
+    /**
+     * Пути, которые нужно удалить, известны только из ответа сервера, например id вещи подтвержденного
+     * бронирования. Ответ с ошибкой ничего не удаляет; если ответа нет или его не удалось разобрать,
+     * удаляются все ответы перечисленных ресурсов.
+     */
+    public Mono<ResponseEntity<Object>> evictAfter(Mono<ResponseEntity<Object>> write,
+                                                   Function<JsonNode, Collection<String>> pathsFromResponse,
+                                                   String... fallbackResources) {
+        if (!enabled) {
+            return write;
+        }
+        return write
+                .doOnNext(response -> {
+                    Collection<String> paths = pathsOf(response, pathsFromResponse);
+                    if (paths != null) {
+                        evict(paths);
+                    } else {
+                        evictResources(fallbackResources);
+                    }
+                })
+                .doOnError(e -> evictResources(fallbackResources))
+                .doOnCancel(() -> evictResources(fallbackResources));
+    }
+
+    /**
+     * После изменяющего запроса удаляет закэшированные ответы всех путей ресурсов, например "/items".
+     * Нужен, когда изменение затрагивает заранее неизвестные пути.
+     */
+    public Mono<ResponseEntity<Object>> evictResourcesAfter(Mono<ResponseEntity<Object>> write, String... resources) {
+        if (!enabled) {
+            return write;
+        }
+        return write
+                .doOnTerminate(() -> evictResources(resources))
+                .doOnCancel(() -> evictResources(resources));
+    }
+
+    void evict(Collection<String> paths) {
+        writes.incrementAndGet();
+        for (String path : paths) {
+            generations.incrementAndGet(stripe(path));
+        }
+        cache.asMap().keySet().removeIf(key -> paths.contains(pathOf(key)));
+    }
+
+    void evictResources(String... resources) {
+        writes.incrementAndGet();
+        for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) {
+            generations.incrementAndGet(stripe);
+        }
+        for (String resource : resources) {
+            String prefix = resource + "/";
+            cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    @Nullable
+    private static Collection<String> pathsOf(ResponseEntity<Object> response,
+                                              Function<JsonNode, Collection<String>> pathsFromResponse) {
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return List.of();
+        }
+        if (!(response.getBody() instanceof byte[])) {
+            return null;
+        }
+        try {
+            return pathsFromResponse.apply(JSON.readTree((byte[]) response.getBody()));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String pathOf(String key) {
+        int separator = key.indexOf('|');
+        return separator < 0 ? key : key.substring(0, separator);
+    }
+
+    private static int stripe(String path) {
+        return Math.floorMod(path.hashCode(), GENERATION_STRIPES);
+    }
+}
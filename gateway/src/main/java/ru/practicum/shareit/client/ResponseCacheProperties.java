@@ -0,0 +1,25 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки кэша ответов сервера на чтение отдельных ресурсов.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    private long maxSize = 10_000;
+
+    /**
+     * Ограничивает устаревание ответа, если ресурс изменили в обход этого gateway.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+}
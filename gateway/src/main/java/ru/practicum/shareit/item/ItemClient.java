@@ -1,34 +1,37 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
+    private static final String REQUESTS = "/requests";
+
+    private final ResponseCache responseCache;
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                      ResponseCache responseCache) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).build(), responseCache::writeGeneration);
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> getItems(long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getItems(long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -36,11 +39,30 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItem(long userId, Long itemId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> getItemsByCursor(long userId, String cursor, int size) {
+        Map<String, Object> parameters = Map.of(
+                "cursor", cursor,
+                "size", size
+        );
+        return get("?cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getItem(long userId, Long itemId) {
+        return responseCache.get(API_PREFIX + "/" + itemId, userId, () -> get("/" + itemId, userId));
+    }
+
+    /**
+     * Свободные окна зависят от бронирований, поэтому ответ не кэшируется.
+     */
+    public Mono<ResponseEntity<Object>> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", null, parameters);
     }
 
-    public ResponseEntity<Object> getItemsByText(String text, long userId, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getItemsByText(String text, long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
@@ -49,16 +71,43 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> create(long userId, ItemDto itemDto) {
-        return post("", userId, itemDto);
+    public Mono<ResponseEntity<Object>> getItemsByText(String text, long userId, LocalDateTime start,
+                                                       LocalDateTime end, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "start", start,
+                "end", end,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&start={start}&end={end}&from={from}&size={size}", userId, parameters);
+    }
+
+    /**
+     * Новая вещь меняет только ответ на запрос, к которому она добавлена.
+     */
+    public Mono<ResponseEntity<Object>> create(long userId, ItemDto itemDto) {
+        Mono<ResponseEntity<Object>> response = post("", userId, itemDto);
+        if (itemDto.getRequestId() == null) {
+            return response;
+        }
+        return responseCache.evictAfter(response, REQUESTS + "/" + itemDto.getRequestId());
     }
 
-    public ResponseEntity<Object> update(Long userId, Long itemId, ItemDto itemDto) {
-        return patch("/" + itemId, userId, itemDto);
+    public Mono<ResponseEntity<Object>> update(Long userId, Long itemId, ItemDto itemDto) {
+        return responseCache.evictAfter(patch("/" + itemId, userId, itemDto),
+                item -> changedPaths(itemId, item), API_PREFIX, REQUESTS);
     }
 
-    public ResponseEntity<Object> addCommentToItem(Long userId, Long itemId, CommentDto commentDto) {
-        return post("/" + itemId + "/comment", userId, commentDto);
+    public Mono<ResponseEntity<Object>> addCommentToItem(Long userId, Long itemId, CommentDto commentDto) {
+        return responseCache.evictAfter(post("/" + itemId + "/comment", userId, commentDto),
+                API_PREFIX + "/" + itemId);
+    }
 
+    private static List<String> changedPaths(Long itemId, JsonNode item) {
+        if (!item.hasNonNull("requestId")) {
+            return List.of(API_PREFIX + "/" + itemId);
+        }
+        return List.of(API_PREFIX + "/" + itemId, REQUESTS + "/" + item.get("requestId").asLong());
     }
 }
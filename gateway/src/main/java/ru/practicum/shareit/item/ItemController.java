@@ -1,10 +1,12 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
@@ -12,6 +14,7 @@ import javax.validation.Valid;
 import javax.validation.ValidationException;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 
 import static ru.practicum.shareit.Constants.USER_ID;
 
@@ -25,28 +28,57 @@ public class ItemController {
 
 
     @GetMapping
-    public ResponseEntity<Object> getAllItemsOfUser(@Positive @RequestHeader(USER_ID) Long userId,
+    public Mono<ResponseEntity<Object>> getAllItemsOfUser(@Positive @RequestHeader(USER_ID) Long userId,
                                                     @PositiveOrZero @RequestParam(defaultValue = "0") final int from,
                                                     @Positive @RequestParam(defaultValue = "10") final int size) {
         return itemClient.getItems(userId, from, size);
     }
 
+    @GetMapping(params = "cursor")
+    public Mono<ResponseEntity<Object>> getAllItemsOfUserByCursor(@Positive @RequestHeader(USER_ID) Long userId,
+                                                            @RequestParam final String cursor,
+                                                            @Positive @RequestParam(defaultValue = "10") final int size) {
+        return itemClient.getItemsByCursor(userId, cursor, size);
+    }
+
     @GetMapping("{itemId}")
-    public ResponseEntity<Object> getItemById(@Positive @RequestHeader(USER_ID) Long userId,
+    public Mono<ResponseEntity<Object>> getItemById(@Positive @RequestHeader(USER_ID) Long userId,
                                          @Positive @PathVariable Long itemId) {
         return itemClient.getItem(userId, itemId);
     }
 
+    @GetMapping("{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getItemAvailability(@Positive @PathVariable Long itemId,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                      LocalDateTime from,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                      LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Начало периода должно быть раньше его окончания");
+        }
+        return itemClient.getAvailability(itemId, from, to);
+    }
+
     @GetMapping("search")
-    public ResponseEntity<Object> getItemByText(@RequestHeader(USER_ID) Long userId,
+    public Mono<ResponseEntity<Object>> getItemByText(@RequestHeader(USER_ID) Long userId,
                                                 @RequestParam String text,
+                                                @RequestParam(required = false)
+                                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                                @RequestParam(required = false)
+                                                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
                                        @PositiveOrZero @RequestParam(defaultValue = "0") final int from,
                                        @Positive @RequestParam(defaultValue = "10") final int size) {
-        return itemClient.getItemsByText(text, userId, from, size);
+        if (start == null && end == null) {
+            return itemClient.getItemsByText(text, userId, from, size);
+        }
+        if (start == null || end == null || !start.isBefore(end)) {
+            throw new ValidationException("Неверно выбран период поиска");
+        }
+        return itemClient.getItemsByText(text, userId, start, end, from, size);
     }
 
     @PostMapping
-    public ResponseEntity<Object> addItemToUser(@Positive @RequestHeader(USER_ID) Long userId,
+    public Mono<ResponseEntity<Object>> addItemToUser(@Positive @RequestHeader(USER_ID) Long userId,
                                  @Valid @RequestBody ItemDto itemDto) {
         if (itemDto.getAvailable() == null) {
             throw new ValidationException("Все поля должны быть заполнены");
@@ -55,13 +87,13 @@ public class ItemController {
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@Positive @RequestHeader(USER_ID) Long userId,
+    public Mono<ResponseEntity<Object>> updateItem(@Positive @RequestHeader(USER_ID) Long userId,
                                         @Positive @PathVariable Long itemId, @RequestBody ItemDto itemDto) {
         return itemClient.update(userId, itemId, itemDto);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addCommentToItem(@Positive @RequestHeader(USER_ID) Long userId,
+    public Mono<ResponseEntity<Object>> addCommentToItem(@Positive @RequestHeader(USER_ID) Long userId,
                                        @Positive @PathVariable Long itemId, @Valid @RequestBody CommentDto dto) {
         return itemClient.addCommentToItem(userId, itemId, dto);
     }
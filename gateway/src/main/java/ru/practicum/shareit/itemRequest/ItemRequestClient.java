@@ -2,12 +2,12 @@ package ru.practicum.shareit.itemRequest;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.itemRequest.dto.ItemRequestDto;
 
 import java.util.Map;
@@ -17,26 +17,25 @@ public class ItemRequestClient extends BaseClient {
 
     private static final String API_PREFIX = "/requests";
 
+    private final ResponseCache responseCache;
+
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                             ResponseCache responseCache) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).build(), responseCache::writeGeneration);
+        this.responseCache = responseCache;
     }
 
-    public ResponseEntity<Object> create(Long userId, ItemRequestDto dto) {
+    public Mono<ResponseEntity<Object>> create(Long userId, ItemRequestDto dto) {
         return post("", userId, dto);
     }
 
-    public ResponseEntity<Object> getItemRequests(long userId) {
+    public Mono<ResponseEntity<Object>> getItemRequests(long userId) {
 
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getItemRequestsPage(Long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getItemRequestsPage(Long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -44,8 +43,17 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemRequest(long userId, Long itemRequestId) {
-        return get("/" + itemRequestId, userId);
+    public Mono<ResponseEntity<Object>> getItemRequestsByCursor(Long userId, String cursor, int size) {
+        Map<String, Object> parameters = Map.of(
+                "cursor", cursor,
+                "size", size
+        );
+        return get("/all?cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemRequest(long userId, Long itemRequestId) {
+        return responseCache.get(API_PREFIX + "/" + itemRequestId, userId,
+                () -> get("/" + itemRequestId, userId));
     }
 
 }
@@ -5,6 +5,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.itemRequest.dto.ItemRequestDto;
 
 import javax.validation.Valid;
@@ -23,18 +24,18 @@ public class ItemRequestController {
 
 
     @PostMapping
-    public ResponseEntity<Object> addNewRequest(@Positive @RequestHeader(USER_ID) Long userId,
+    public Mono<ResponseEntity<Object>> addNewRequest(@Positive @RequestHeader(USER_ID) Long userId,
                                                 @Valid @RequestBody ItemRequestDto dto) {
         return itemRequestClient.create(userId, dto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAllItemRequests(@Positive @RequestHeader(USER_ID) Long userId) {
+    public Mono<ResponseEntity<Object>> findAllItemRequests(@Positive @RequestHeader(USER_ID) Long userId) {
         return itemRequestClient.getItemRequests(userId);
     }
 
     @GetMapping("all")
-    public ResponseEntity<Object> findAllPageable(@Positive @RequestHeader(USER_ID) Long userId,
+    public Mono<ResponseEntity<Object>> findAllPageable(@Positive @RequestHeader(USER_ID) Long userId,
                                                 @PositiveOrZero @RequestParam(defaultValue = "0") final int from,
                                                 @Positive @RequestParam(defaultValue = "10") final int size) {
 
@@ -42,8 +43,15 @@ public class ItemRequestController {
 
     }
 
+    @GetMapping(value = "all", params = "cursor")
+    public Mono<ResponseEntity<Object>> findAllByCursor(@Positive @RequestHeader(USER_ID) Long userId,
+                                                  @RequestParam final String cursor,
+                                                  @Positive @RequestParam(defaultValue = "10") final int size) {
+        return itemRequestClient.getItemRequestsByCursor(userId, cursor, size);
+    }
+
     @GetMapping("{requestId}")
-    public ResponseEntity<Object> findItemRequestById(@Positive @RequestHeader(USER_ID) Long userId,
+    public Mono<ResponseEntity<Object>> findItemRequestById(@Positive @RequestHeader(USER_ID) Long userId,
                                               @Positive @PathVariable Long requestId) {
         return itemRequestClient.getItemRequest(userId, requestId);
     }
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.Valid;
@@ -20,29 +21,29 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@Valid @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> create(@Valid @RequestBody UserDto userDto) {
         return userClient.create(userDto);
     }
 
     @PatchMapping("{userId}")
-    public ResponseEntity<Object> update(@PathVariable @Positive(message = "id не может быть отрицательным числом")
+    public Mono<ResponseEntity<Object>> update(@PathVariable @Positive(message = "id не может быть отрицательным числом")
                                     Long userId, @NonNull @RequestBody UserDto userDto) {
         return userClient.update(userId, userDto);
     }
 
     @GetMapping("{userId}")
-    public ResponseEntity<Object> getUserById(@PathVariable @Positive (message = "id не может быть отрицательным числом")
+    public Mono<ResponseEntity<Object>> getUserById(@PathVariable @Positive (message = "id не может быть отрицательным числом")
                                          Long userId) {
         return userClient.getUser(userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         return userClient.getUsers();
     }
 
     @DeleteMapping("{userId}")
-    public ResponseEntity<Object> deleteUserById(@PathVariable @Positive (message = "id не может быть отрицательным числом")
+    public Mono<ResponseEntity<Object>> deleteUserById(@PathVariable @Positive (message = "id не может быть отрицательным числом")
                                Long userId) {
        return userClient.deleteUser(userId);
     }
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.boot.test.json.JacksonTester;
+import org.springframework.boot.test.json.JsonContent;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.Set;
+
+import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@JsonTest
+public class BookingApprovalDtoJsonTest {
+
+    @Autowired
+    private JacksonTester<BookingApprovalDto> json;
+
+    private BookingApprovalDto dto;
+
+    @BeforeEach
+    public void setUp() {
+        dto = new BookingApprovalDto(1L, true);
+    }
+
+    @Test
+    void testBookingApprovalDto_whenFillWithCorrectArguments_thenPositive() throws Exception {
+
+        JsonContent<BookingApprovalDto> result = json.write(dto);
+
+        assertThat(result).extractingJsonPathNumberValue("$.bookingId").isEqualTo(1);
+        assertThat(result).extractingJsonPathBooleanValue("$.approved").isEqualTo(true);
+        assertEquals(0, catchViolations(dto).size(), "Нарушений логики нет");
+    }
+
+    @Test
+    void testBookingApprovalDto_whenEmptyFields_thenFail() {
+
+        dto.setBookingId(null);
+        dto.setApproved(null);
+
+        assertEquals(2, catchViolations(dto).size(), "Обнаружено 2 нарушения логики");
+    }
+
+    private Set<ConstraintViolation<BookingApprovalDto>> catchViolations(BookingApprovalDto dto) {
+        ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
+        Validator validator = factory.getValidator();
+        return validator.validate(dto);
+    }
+
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class BaseClientTest {
+
+    private final AtomicReference<ClientRequest> lastRequest = new AtomicReference<>();
+
+    private BaseClient clientRespondingWith(ClientResponse response) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    lastRequest.set(request);
+                    return Mono.just(response);
+                })
+                .build();
+        return new BaseClient(webClient);
+    }
+
+    @Test
+    void givenServerResponse_whenGet_thenBodyAndHeadersPassedThrough() {
+        String json = "[{\"id\":1,\"name\":\"Дрель\"}]";
+        BaseClient client = clientRespondingWith(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header("X-Next-Cursor", "Mg")
+                .body(json)
+                .build());
+
+        ResponseEntity<Object> response = client.get("/items", 1L).block();
+
+        assertThat(lastRequest.get().url().getPath()).isEqualTo("/items");
+        assertThat(lastRequest.get().headers().getFirst("X-Sharer-User-Id")).isEqualTo("1");
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().getFirst("X-Next-Cursor")).isEqualTo("Mg");
+        assertThat(response.getBody()).isEqualTo(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void givenServerError_whenGet_thenStatusAndBodyPassedThrough() {
+        String json = "{\"error\":\"Ошибка введенных данных:\"}";
+        BaseClient client = clientRespondingWith(ClientResponse.create(HttpStatus.NOT_FOUND)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(json)
+                .build());
+
+        ResponseEntity<Object> response = client.get("/items/100", 1L).block();
+
+        assertThat(response).isNotNull();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getBody()).isEqualTo(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void givenConcurrentIdenticalGets_thenServerCalledOnce() {
+        AtomicInteger serverCalls = new AtomicInteger();
+        Sinks.One<ClientResponse> slowServer = Sinks.one();
+        BaseClient client = new BaseClient(WebClient.builder()
+                .exchangeFunction(request -> {
+                    serverCalls.incrementAndGet();
+                    return slowServer.asMono();
+                })
+                .build());
+
+        Mono<ResponseEntity<Object>> first = client.get("/items/1", 1L).cache();
+        Mono<ResponseEntity<Object>> second = client.get("/items/1", 1L).cache();
+        first.subscribe();
+        second.subscribe();
+        slowServer.tryEmitValue(ClientResponse.create(HttpStatus.OK).body("{\"id\":1}").build());
+
+        assertThat(first.block().getBody()).isEqualTo(second.block().getBody());
+        assertThat(serverCalls).hasValue(1);
+    }
+
+    @Test
+    void givenDifferentUsersOrSequentialGets_thenEachGoesToServer() {
+        AtomicInteger serverCalls = new AtomicInteger();
+        BaseClient client = new BaseClient(WebClient.builder()
+                .exchangeFunction(request -> {
+                    serverCalls.incrementAndGet();
+                    return Mono.just(ClientResponse.create(HttpStatus.OK).body("{}").build());
+                })
+                .build());
+
+        client.get("/items/1", 1L).block();
+        client.get("/items/1", 2L).block();
+        client.get("/items/1", 1L).block();
+
+        assertThat(serverCalls).hasValue(3);
+    }
+
+    @Test
+    void givenWriteDuringGet_thenLaterGetDoesNotJoinStaleRead() {
+        @SuppressWarnings("unchecked")
+        ResponseCache responseCache = new ResponseCache(new ResponseCacheProperties(), mock(ObjectProvider.class));
+        AtomicInteger serverCalls = new AtomicInteger();
+        Sinks.One<ClientResponse> slowServer = Sinks.one();
+        BaseClient client = new BaseClient(WebClient.builder()
+                .exchangeFunction(request -> serverCalls.incrementAndGet() == 1
+                        ? slowServer.asMono()
+                        : Mono.just(ClientResponse.create(HttpStatus.OK).body("fresh").build()))
+                .build(), responseCache::writeGeneration);
+
+        Mono<ResponseEntity<Object>> beforeWrite = responseCache.get("/items/1", 1L, () -> client.get("/1", 1L))
+                .cache();
+        beforeWrite.subscribe();
+        responseCache.evictAfter(Mono.just(ResponseEntity.ok().build()), "/items/1").block();
+        Mono<ResponseEntity<Object>> afterWrite = responseCache.get("/items/1", 1L, () -> client.get("/1", 1L))
+                .cache();
+        afterWrite.subscribe();
+        slowServer.tryEmitValue(ClientResponse.create(HttpStatus.OK).body("stale").build());
+
+        byte[] fresh = "fresh".getBytes(StandardCharsets.UTF_8);
+        assertThat(beforeWrite.block().getBody()).isEqualTo("stale".getBytes(StandardCharsets.UTF_8));
+        assertThat(afterWrite.block().getBody()).isEqualTo(fresh);
+        assertThat(responseCache.get("/items/1", 1L, () -> client.get("/1", 1L)).block().getBody())
+                .isEqualTo(fresh);
+        assertThat(serverCalls).hasValue(2);
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.resources.ConnectionProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpClientConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(HttpClientConfig.class);
+
+    @Test
+    void connectionPoolIsConfiguredFromProperties() {
+        contextRunner
+                .withPropertyValues("shareit-server.http-client.max-connections=300")
+                .run(context -> {
+                    ConnectionProvider connectionProvider = context.getBean(ConnectionProvider.class);
+
+                    assertThat(connectionProvider.maxConnections()).isEqualTo(300);
+                    assertThat(context).getBean(ClientHttpConnector.class)
+                            .isInstanceOf(ReactorClientHttpConnector.class);
+                });
+    }
+
+    @Test
+    void connectionPoolHasDefaultLimit() {
+        contextRunner.run(context ->
+                assertThat(context.getBean(ConnectionProvider.class).maxConnections()).isEqualTo(1000));
+    }
+}
@@ -0,0 +1,162 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class ResponseCacheTest {
+
+    @SuppressWarnings("unchecked")
+    private final ResponseCache responseCache = new ResponseCache(new ResponseCacheProperties(),
+            mock(ObjectProvider.class));
+
+    private final AtomicInteger serverCalls = new AtomicInteger();
+
+    private Mono<ResponseEntity<Object>> server(HttpStatus status) {
+        return Mono.fromSupplier(() -> ResponseEntity.status(status)
+                .body((Object) ("response " + serverCalls.incrementAndGet())));
+    }
+
+    @Test
+    void givenRepeatedGet_thenServerCalledOnce() {
+        Object first = responseCache.get("/items/1", 1L, () -> server(HttpStatus.OK)).block().getBody();
+        Object second = responseCache.get("/items/1", 1L, () -> server(HttpStatus.OK)).block().getBody();
+
+        assertThat(second).isEqualTo(first);
+        assertThat(serverCalls).hasValue(1);
+    }
+
+    @Test
+    void givenOtherUser_thenResponseNotShared() {
+        responseCache.get("/items/1", 1L, () -> server(HttpStatus.OK)).block();
+        responseCache.get("/items/1", 2L, () -> server(HttpStatus.OK)).block();
+
+        assertThat(serverCalls).hasValue(2);
+    }
+
+    @Test
+    void givenErrorResponse_thenNotCached() {
+        responseCache.get("/items/100", 1L, () -> server(HttpStatus.NOT_FOUND)).block();
+        responseCache.get("/items/100", 1L, () -> server(HttpStatus.NOT_FOUND)).block();
+
+        assertThat(serverCalls).hasValue(2);
+    }
+
+    @Test
+    void givenWriteOnItem_thenOnlyThatItemEvictedForAllUsers() {
+        responseCache.get("/items/1", 1L, () -> server(HttpStatus.OK)).block();
+        responseCache.get("/items/1", 2L, () -> server(HttpStatus.OK)).block();
+        responseCache.get("/items/2", 1L, () -> server(HttpStatus.OK)).block();
+
+        responseCache.evictAfter(Mono.just(ResponseEntity.ok().build()), "/items/1").block();
+
+        responseCache.get("/items/1", 1L, () -> server(HttpStatus.OK)).block();
+        responseCache.get("/items/1", 2L, () -> server(HttpStatus.OK)).block();
+        Object other = responseCache.get("/items/2", 1L, () -> server(HttpStatus.OK)).block().getBody();
+
+        assertThat(other).isEqualTo("response 3");
+        assertThat(serverCalls).hasValue(5);
+    }
+
+    @Test
+    void givenWriteOnResource_thenCachedResponsesEvicted() {
+        responseCache.get("/items/1", 1L, () -> server(HttpStatus.OK)).block();
+        responseCache.get("/requests/1", 1L, () -> server(HttpStatus.OK)).block();
+
+        responseCache.evictResourcesAfter(Mono.just(ResponseEntity.ok().build()), "/items").block();
+
+        Object item = responseCache.get("/items/1", 1L, () -> server(HttpStatus.OK)).block().getBody();
+        responseCache.get("/requests/1", 1L, () -> server(HttpStatus.OK)).block();
+
+        assertThat(item).isEqualTo("response 3");
+        assertThat(serverCalls).hasValue(3);
+    }
+
+    @Test
+    void givenWriteDuringGet_thenStaleResponseNotCached() {
+        Sinks.One<ResponseEntity<Object>> slowServer = Sinks.one();
+        Mono<ResponseEntity<Object>> inFlight = responseCache.get("/items/1", 1L, slowServer::asMono).cache();
+        inFlight.subscribe();
+
+        responseCache.evictAfter(Mono.just(ResponseEntity.ok().build()), "/items/1").block();
+        slowServer.tryEmitValue(ResponseEntity.ok("stale"));
+
+        Object body = responseCache.get("/items/1", 1L, () -> server(HttpStatus.OK)).block().getBody();
+
+        assertThat(inFlight.block().getBody()).isEqualTo("stale");
+        assertThat(body).isEqualTo("response 1");
+    }
+
+    @Test
+    void givenWriteOnOtherItemDuringGet_thenResponseCached() {
+        Sinks.One<ResponseEntity<Object>> slowServer = Sinks.one();
+        Mono<ResponseEntity<Object>> inFlight = responseCache.get("/items/1", 1L, slowServer::asMono).cache();
+        inFlight.subscribe();
+
+        responseCache.evictAfter(Mono.just(ResponseEntity.ok().build()), "/items/2").block();
+        slowServer.tryEmitValue(ResponseEntity.ok("item 1"));
+
+        Object body = responseCache.get("/items/1", 1L, () -> server(HttpStatus.OK)).block().getBody();
+
+        assertThat(body).isEqualTo("item 1");
+        assertThat(serverCalls).hasValue(0);
+    }
+
+    @Test
+    void givenWriteResponse_thenPathsFromResponseEvicted() {
+        responseCache.get("/items/7", 1L, () -> server(HttpStatus.OK)).block();
+        responseCache.get("/items/8", 1L, () -> server(HttpStatus.OK)).block();
+        Mono<ResponseEntity<Object>> approve = Mono.just(ResponseEntity.ok(
+                (Object) "{\"id\":1,\"item\":{\"id\":7}}".getBytes(StandardCharsets.UTF_8)));
+
+        responseCache.evictAfter(approve,
+                booking -> List.of("/items/" + booking.path("item").path("id").asLong()), "/items").block();
+
+        responseCache.get("/items/7", 1L, () -> server(HttpStatus.OK)).block();
+        responseCache.get("/items/8", 1L, () -> server(HttpStatus.OK)).block();
+
+        assertThat(serverCalls).hasValue(3);
+    }
+
+    @Test
+    void givenWriteFailedWithoutResponse_thenResourcesEvicted() {
+        responseCache.get("/items/7", 1L, () -> server(HttpStatus.OK)).block();
+        responseCache.get("/items/8", 1L, () -> server(HttpStatus.OK)).block();
+
+        Mono<ResponseEntity<Object>> approve = Mono.error(new IllegalStateException("connection reset"));
+        assertThatThrownBy(() -> responseCache.evictAfter(approve,
+                booking -> List.of("/items/" + booking.path("item").path("id").asLong()), "/items").block())
+                .isInstanceOf(IllegalStateException.class);
+
+        responseCache.get("/items/7", 1L, () -> server(HttpStatus.OK)).block();
+        responseCache.get("/items/8", 1L, () -> server(HttpStatus.OK)).block();
+
+        assertThat(serverCalls).hasValue(4);
+    }
+
+    @Test
+    void givenCacheDisabled_thenEveryGetGoesToServer() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setEnabled(false);
+        @SuppressWarnings("unchecked")
+        ObjectProvider<MeterRegistry> meterRegistry = mock(ObjectProvider.class);
+        ResponseCache disabled = new ResponseCache(properties, meterRegistry);
+
+        disabled.get("/items/1", 1L, () -> server(HttpStatus.OK)).block();
+        disabled.get("/items/1", 1L, () -> server(HttpStatus.OK)).block();
+
+        assertThat(serverCalls).hasValue(2);
+    }
+}
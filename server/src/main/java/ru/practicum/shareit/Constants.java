@@ -3,5 +3,6 @@ package ru.practicum.shareit;
 public class Constants {
 
     public static final String USER_ID = "X-Sharer-User-Id";
+    public static final String NEXT_CURSOR = "X-Next-Cursor";
     public static final String DATE_TIME = "YYYY-MM-DD HH:mm:ss";
 }
@@ -40,6 +40,14 @@ public class Booking {
     @Column(nullable = false)
     private BookingStatus status;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    public Booking(Long id, Timestamp start, Timestamp end, Item item, User booker, BookingStatus status) {
+        this(id, start, end, item, booker, status, null);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -1,7 +1,10 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDtoFromRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoToResponse;
 
@@ -46,6 +49,30 @@ public class BookingController {
         return bookingService.getBookingsAllOrByStateForEveryUserItem(userId, state, from, size);
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<List<BookingDtoToResponse>> getBookingsAllOrByStateByCursor(
+            @RequestHeader(USER_ID) Long userId,
+            @RequestParam(value = "state", defaultValue = "ALL", required = false) final BookingState state,
+            @RequestParam final String cursor,
+            @RequestParam(defaultValue = "10") final int size) {
+        return bookingService.getBookingsOfUserByCursor(userId, state, cursor, size).toResponseEntity();
+    }
+
+    @GetMapping(value = "/owner", params = "cursor")
+    public ResponseEntity<List<BookingDtoToResponse>> getBookingsAllOrByStateForOwnerByCursor(
+            @RequestHeader(USER_ID) Long userId,
+            @RequestParam(value = "state", defaultValue = "ALL", required = false) final BookingState state,
+            @RequestParam final String cursor,
+            @RequestParam(defaultValue = "10") final int size) {
+        return bookingService.getBookingsForEveryUserItemByCursor(userId, state, cursor, size).toResponseEntity();
+    }
+
+    @PatchMapping("batch")
+    public List<BookingApprovalResultDto> setApproveToBookings(@RequestHeader(USER_ID) Long userId,
+                                                               @RequestBody List<BookingApprovalDto> approvals) {
+        return bookingService.setApproveToBookings(userId, approvals);
+    }
+
     @PatchMapping("{bookingId}")
     public BookingDtoToResponse setApproveToBooking(@RequestHeader(USER_ID) Long userId,
                                                     @PathVariable Long bookingId,
@@ -1,36 +1,150 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
 
 import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    Page<Booking> findAllByBookerIdAndStatus(Long bookerId, BookingStatus status, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findAllByBookerId(Long bookerId, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findAllByBookerIdAndStatus(Long bookerId, BookingStatus status, Pageable pageable);
 
-    Page<Booking> findAllByBookerIdAndEndBefore(Long bookerId, Timestamp time, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findAllByBookerIdAndEndBefore(Long bookerId, Timestamp time, Pageable pageable);
 
-    Page<Booking> findAllByBookerIdAndStartAfter(Long bookerId, Timestamp time, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findAllByBookerIdAndStartAfter(Long bookerId, Timestamp time, Pageable pageable);
 
-    Page<Booking> findAllByBookerIdAndStartBeforeAndEndAfter(
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findAllByBookerIdAndStartBeforeAndEndAfter(
             Long bookerId, Timestamp start, Timestamp end, Pageable pageable);
 
     List<Booking> findAllByItemId(Long itemId);
 
+    List<Booking> findAllByItemIdAndStatusIn(Long itemId, Collection<BookingStatus> statuses);
+
+    @EntityGraph(attributePaths = "item")
+    List<Booking> findAllWithItemByBookerIdAndStatusIn(Long bookerId, Collection<BookingStatus> statuses);
+
+    boolean existsByItemIdAndStatusInAndStartBeforeAndEndAfter(
+            Long itemId, Collection<BookingStatus> statuses, Timestamp end, Timestamp start);
+
+    @Query("select distinct b.item.id from Booking b " +
+            "where b.item.id in :itemIds and b.status in :statuses and b.start < :end and b.end > :start")
+    List<Long> findBusyItemIds(@Param("itemIds") Collection<Long> itemIds,
+                               @Param("statuses") Collection<BookingStatus> statuses,
+                               @Param("end") Timestamp end, @Param("start") Timestamp start);
+
+    List<Booking> findAllByItemIdAndStatusInAndStartBeforeAndEndAfterOrderByStart(
+            Long itemId, Collection<BookingStatus> statuses, Timestamp end, Timestamp start);
+
+    /**
+     * Бронирование вместе с вещью одним запросом: id владельца и букера берутся из внешних ключей без загрузки User.
+     */
+    @EntityGraph(attributePaths = "item")
+    Optional<Booking> findWithItemById(Long bookingId);
+
+    /**
+     * Смена статуса одним UPDATE с условием на текущий статус: из двух одновременных запросов изменит строку только
+     * один. Возвращает число измененных строк.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = :status, b.version = b.version + 1 " +
+            "where b.id = :bookingId and b.status = :expected")
+    int updateStatus(@Param("bookingId") Long bookingId, @Param("expected") BookingStatus expected,
+                     @Param("status") BookingStatus status);
+
+    /**
+     * Строки бронирований блокируются до конца транзакции в порядке id, чтобы пакеты не взаимоблокировались.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = "item")
+    List<Booking> findAllWithItemByIdInOrderById(Collection<Long> bookingIds);
+
+    /**
+     * Пакетная смена статуса одним UPDATE, условие на текущий статус как в {@link #updateStatus}.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = :status, b.version = b.version + 1 " +
+            "where b.id in :bookingIds and b.status = :expected")
+    int updateStatusIn(@Param("bookingIds") Collection<Long> bookingIds, @Param("expected") BookingStatus expected,
+                       @Param("status") BookingStatus status);
+
+    @Query("select b from Booking b " +
+            "where b.item.id in ?1 and b.status = ?2 and b.start <= ?3 " +
+            "and b.start = (select max(lb.start) from Booking lb " +
+            "where lb.item.id = b.item.id and lb.status = ?2 and lb.start <= ?3)")
+    List<Booking> findLastBookingsOfItems(Collection<Long> itemIds, BookingStatus status, Timestamp time);
+
+    @Query("select b from Booking b " +
+            "where b.item.id in ?1 and b.start > ?2 " +
+            "and b.start = (select min(nb.start) from Booking nb " +
+            "where nb.item.id = b.item.id and nb.start > ?2)")
+    List<Booking> findNextBookingsOfItems(Collection<Long> itemIds, Timestamp time);
+
     List<Booking> findAllByItemIdAndBookerIdAndEndBeforeAndStatus(Long itemId, Long bookerId, Timestamp time, BookingStatus status);
 
-    Page<Booking> findAllByItemOwnerId(Long ownerId, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findAllByItemOwnerId(Long ownerId, Pageable pageable);
 
-    Page<Booking> findAllByItemOwnerIdAndEndBefore(Long ownerId, Timestamp end, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findAllByItemOwnerIdAndEndBefore(Long ownerId, Timestamp end, Pageable pageable);
 
-    Page<Booking> findAllByItemOwnerIdAndStartBeforeAndEndAfter(
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findAllByItemOwnerIdAndStartBeforeAndEndAfter(
             Long ownerId, Timestamp start, Timestamp end, Pageable pageable);
 
-    Page<Booking> findAllByItemOwnerIdAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findAllByItemOwnerIdAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Slice<Booking> findAllByItemOwnerIdAndStartAfter(Long ownerId, Timestamp start, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b " +
+            "where b.booker.id = :userId and b.status in :statuses " +
+            "and b.start > :startFrom and b.start < :startTo and b.end > :endFrom and b.end < :endTo " +
+            "and (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId)) " +
+            "order by b.start desc, b.id desc")
+    Slice<Booking> findBookerBookingsBefore(@Param("userId") Long bookerId,
+                                            @Param("statuses") Collection<BookingStatus> statuses,
+                                            @Param("startFrom") Timestamp startFrom,
+                                            @Param("startTo") Timestamp startTo,
+                                            @Param("endFrom") Timestamp endFrom,
+                                            @Param("endTo") Timestamp endTo,
+                                            @Param("cursorStart") Timestamp cursorStart,
+                                            @Param("cursorId") Long cursorId,
+                                            Pageable pageable);
 
-    Page<Booking> findAllByItemOwnerIdAndStartAfter(Long ownerId, Timestamp start, Pageable pageable);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("select b from Booking b " +
+            "where b.item.owner.id = :userId and b.status in :statuses " +
+            "and b.start > :startFrom and b.start < :startTo and b.end > :endFrom and b.end < :endTo " +
+            "and (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId)) " +
+            "order by b.start desc, b.id desc")
+    Slice<Booking> findOwnerBookingsBefore(@Param("userId") Long ownerId,
+                                           @Param("statuses") Collection<BookingStatus> statuses,
+                                           @Param("startFrom") Timestamp startFrom,
+                                           @Param("startTo") Timestamp startTo,
+                                           @Param("endFrom") Timestamp endFrom,
+                                           @Param("endTo") Timestamp endTo,
+                                           @Param("cursorStart") Timestamp cursorStart,
+                                           @Param("cursorId") Long cursorId,
+                                           Pageable pageable);
 
 }
@@ -1,7 +1,10 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDtoFromRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoToResponse;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.util.List;
 
@@ -12,6 +15,11 @@ public interface BookingService {
 
     BookingDtoToResponse setApproveToBooking(Long userId, Long bookingId, Boolean approved);
 
+    /**
+     * Подтверждение или отклонение нескольких бронирований владельцем, результат по каждому id в порядке запроса.
+     */
+    List<BookingApprovalResultDto> setApproveToBookings(Long userId, List<BookingApprovalDto> approvals);
+
     BookingDtoToResponse getBooking(Long userId, Long bookingId);
 
     List<BookingDtoToResponse> getBookingsOfUserAllOrByState(Long userId, BookingState state, int from, int size);
@@ -19,4 +27,10 @@ public interface BookingService {
     List<BookingDtoToResponse> getBookingsAllOrByStateForEveryUserItem(
             Long userId, BookingState state, int from, int size);
 
+    CursorPage<BookingDtoToResponse> getBookingsOfUserByCursor(
+            Long userId, BookingState state, String cursor, int size);
+
+    CursorPage<BookingDtoToResponse> getBookingsForEveryUserItemByCursor(
+            Long userId, BookingState state, String cursor, int size);
+
 }
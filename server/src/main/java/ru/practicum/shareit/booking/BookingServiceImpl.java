@@ -1,29 +1,39 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.calendar.BookingCalendar;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDtoFromRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoToResponse;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.exceptions.UnknownStateException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemViewCache;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import javax.validation.ValidationException;
 import java.sql.Timestamp;
 import java.time.Instant;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
@@ -34,9 +44,16 @@ public class BookingServiceImpl implements BookingService {
 
     private final BookingMapper bookingMapper;
 
+    private final ItemViewCache itemViewCache;
+
+    private final BookingCalendar bookingCalendar;
+
     private static final Sort SORT = Sort.by(Sort.Direction.DESC, "start");
 
+    private static final String OVERLAP_CONSTRAINT = "bookings_no_overlap";
+
     @Override
+    @Transactional
     public BookingDtoToResponse createBooking(Long userId, BookingDtoFromRequest dto) {
 
         Item item = itemRepository.findById(dto.getItemId()).orElseThrow(
@@ -54,38 +71,101 @@ public class BookingServiceImpl implements BookingService {
         booking.setBooker(user);
         booking.setItem(item);
         booking.setStatus(BookingStatus.WAITING);
-        return bookingMapper.toDto(bookingRepository.save(booking));
+        bookingCalendar.reserve(booking);
+        try {
+            return bookingMapper.toDto(bookingRepository.save(booking));
+        } catch (DataIntegrityViolationException e) {
+            if (!String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage()).contains(OVERLAP_CONSTRAINT)) {
+                throw e;
+            }
+            throw new ValidationException("Вещь " + item.getId() + " уже забронирована на пересекающиеся даты");
+        }
     }
 
     @Override
+    @Transactional
     public BookingDtoToResponse setApproveToBooking(Long userId, Long bookingId, Boolean approved) {
-        User user = checkAndReturnUser(userId);
         Booking booking = checkAndReturnBooking(bookingId);
-        Item item = checkAndReturnItem(booking);
-        if (!item.getOwner().equals(user)) {
+        Item item = booking.getItem();
+        if (!item.getOwner().getId().equals(userId)) {
             throw new IllegalArgumentException("Невозможно подтвердить " +
-                    "статус бронирования не владельцем вещи");
+                    "статус бронирования не владельцем вещи", null);
+        }
+
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        if (booking.getStatus() != BookingStatus.WAITING
+                || bookingRepository.updateStatus(bookingId, BookingStatus.WAITING, status) == 0) {
+            throw new ValidationException("Невозможно подтвердить бронирование. Возможные причины: статус подтвержден", null);
+        }
+
+        booking.setStatus(status);
+        if (status == BookingStatus.REJECTED) {
+            bookingCalendar.release(booking);
         }
+        itemViewCache.evict(item.getId());
+        return bookingMapper.toDto(booking);
+    }
 
-        if (booking.getStatus() != BookingStatus.APPROVED) {
-            if (approved.equals(true)) {
-                booking.setStatus(BookingStatus.APPROVED);
+    /**
+     * Бронирования с вещами загружаются и блокируются одним запросом, поэтому проверка статуса WAITING в памяти
+     * окончательна. Статусы меняются не более чем двумя UPDATE (подтверждение и отклонение).
+     * Ошибка по одному id не отменяет остальные.
+     */
+    @Override
+    @Transactional
+    public List<BookingApprovalResultDto> setApproveToBookings(Long userId, List<BookingApprovalDto> approvals) {
+        if (approvals.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<Long> bookingIds = approvals.stream()
+                .map(BookingApprovalDto::getBookingId)
+                .collect(Collectors.toSet());
+        Map<Long, Booking> bookings = bookingRepository.findAllWithItemByIdInOrderById(bookingIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        Set<Long> accepted = new HashSet<>();
+        Map<BookingStatus, Set<Long>> transitions = new EnumMap<>(BookingStatus.class);
+        List<BookingApprovalResultDto> response = new ArrayList<>();
+        for (BookingApprovalDto approval : approvals) {
+            Long bookingId = approval.getBookingId();
+            Booking booking = bookings.get(bookingId);
+            BookingApprovalResultDto result;
+            if (booking == null) {
+                result = new BookingApprovalResultDto(bookingId, null, "Booking с id " + bookingId + " не найден",
+                        null);
+            } else if (!booking.getItem().getOwner().getId().equals(userId)) {
+                result = new BookingApprovalResultDto(bookingId, null, "Невозможно подтвердить " +
+                        "статус бронирования не владельцем вещи", null);
+            } else if (booking.getStatus() != BookingStatus.WAITING || !accepted.add(bookingId)) {
+                result = new BookingApprovalResultDto(bookingId, booking.getStatus(),
+                        "Невозможно подтвердить бронирование. Возможные причины: статус подтвержден", null);
             } else {
-                booking.setStatus(BookingStatus.REJECTED);
+                BookingStatus status = Boolean.TRUE.equals(approval.getApproved())
+                        ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+                transitions.computeIfAbsent(status, s -> new HashSet<>()).add(bookingId);
+                result = new BookingApprovalResultDto(bookingId, status, null, booking.getItem().getId());
             }
-        } else {
-            throw new ValidationException("Невозможно подтвердить бронирование. Возможные причины: статус подтвержден");
+            response.add(result);
         }
 
-        return bookingMapper.toDto(bookingRepository.save(booking));
+        transitions.forEach((status, ids) -> {
+            bookingRepository.updateStatusIn(ids, BookingStatus.WAITING, status);
+            for (Long bookingId : ids) {
+                Booking booking = bookings.get(bookingId);
+                booking.setStatus(status);
+                if (status == BookingStatus.REJECTED) {
+                    bookingCalendar.release(booking);
+                }
+                itemViewCache.evict(booking.getItem().getId());
+            }
+        });
+        return response;
     }
 
     @Override
     public BookingDtoToResponse getBooking(Long userId, Long bookingId) {
         Booking booking = checkAndReturnBooking(bookingId);
-        User user = checkAndReturnUser(userId);
-        Item item = checkAndReturnItem(booking);
-        if (booking.getBooker().equals(user) || item.getOwner().equals(user)) {
+        if (booking.getBooker().getId().equals(userId) || booking.getItem().getOwner().getId().equals(userId)) {
             return bookingMapper.toDto(booking);
         }
         throw new IllegalArgumentException("Некорректный запрос, информацию о бронировании " +
@@ -101,14 +181,14 @@ public class BookingServiceImpl implements BookingService {
         }
 
         Pageable pageable = PageRequest.of(from, size, SORT);
-        Page<Booking> bookings;
+        Slice<Booking> bookings;
         Timestamp currentTime = Timestamp.from(Instant.now());
 
 
         switch (state) {
             case ALL:
                 bookings = bookingRepository
-                        .findAll(pageable);
+                        .findAllByBookerId(userId, pageable);
                 break;
             case PAST:
                 bookings = bookingRepository
@@ -153,7 +233,7 @@ public class BookingServiceImpl implements BookingService {
 
 
         Pageable pageable = PageRequest.of(from, size, SORT);
-        Page<Booking> bookingsForItems;
+        Slice<Booking> bookingsForItems;
 
         Timestamp currentTime = Timestamp.from(Instant.now());
 
@@ -193,8 +273,52 @@ public class BookingServiceImpl implements BookingService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public CursorPage<BookingDtoToResponse> getBookingsOfUserByCursor(
+            Long userId, BookingState state, String cursor, int size) {
+
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("Пользователя " + userId + " не существует");
+        }
+
+        BookingStateFilter filter = BookingStateFilter.of(state, Timestamp.from(Instant.now()));
+        Cursor position = Cursor.decode(cursor, Cursor.firstDescending());
+
+        return toCursorPage(bookingRepository.findBookerBookingsBefore(userId, filter.getStatuses(),
+                filter.getStartFrom(), filter.getStartTo(), filter.getEndFrom(), filter.getEndTo(),
+                position.getTime(), position.getId(), PageRequest.of(0, size)));
+    }
+
+    @Override
+    public CursorPage<BookingDtoToResponse> getBookingsForEveryUserItemByCursor(
+            Long userId, BookingState state, String cursor, int size) {
+
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("Пользователя " + userId + " не существует");
+        }
+
+        BookingStateFilter filter = BookingStateFilter.of(state, Timestamp.from(Instant.now()));
+        Cursor position = Cursor.decode(cursor, Cursor.firstDescending());
+
+        return toCursorPage(bookingRepository.findOwnerBookingsBefore(userId, filter.getStatuses(),
+                filter.getStartFrom(), filter.getStartTo(), filter.getEndFrom(), filter.getEndTo(),
+                position.getTime(), position.getId(), PageRequest.of(0, size)));
+    }
+
+    private CursorPage<BookingDtoToResponse> toCursorPage(Slice<Booking> bookings) {
+        List<Booking> content = bookings.getContent();
+        String nextCursor = null;
+        if (bookings.hasNext()) {
+            Booking last = content.get(content.size() - 1);
+            nextCursor = Cursor.of(last.getStart(), last.getId()).encode();
+        }
+        return new CursorPage<>(content.stream()
+                .map(bookingMapper::toDto)
+                .collect(Collectors.toList()), nextCursor);
+    }
+
     private Booking checkAndReturnBooking(Long bookingId) {
-        return Optional.of(bookingRepository.findById(bookingId)).get().orElseThrow(
+        return bookingRepository.findWithItemById(bookingId).orElseThrow(
                 () -> new IllegalArgumentException("Booking с id " + bookingId + " не найден"));
     }
 
@@ -202,9 +326,4 @@ public class BookingServiceImpl implements BookingService {
         return Optional.of(userRepository.findById(userId)).get().orElseThrow(
                 () -> new IllegalArgumentException("User с id " + userId + " не найден"));
     }
-
-    private Item checkAndReturnItem(Booking booking) {
-        return Optional.of(itemRepository.findById(booking.getItem().getId())).get().orElseThrow(
-                () -> new IllegalArgumentException("Item с id " + booking.getItem().getId() + " не найден"));
-    }
 }
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.exceptions.UnknownStateException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Границы выборки бронирований для состояния: статусы и интервалы дат начала и окончания.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+class BookingStateFilter {
+
+    private static final Timestamp MIN_TIME = Timestamp.valueOf(LocalDateTime.of(1900, 1, 1, 0, 0));
+    private static final Timestamp MAX_TIME = Timestamp.valueOf(LocalDateTime.of(9999, 12, 31, 23, 59, 59));
+    private static final List<BookingStatus> ALL_STATUSES = Arrays.asList(BookingStatus.values());
+
+    private final List<BookingStatus> statuses;
+    private final Timestamp startFrom;
+    private final Timestamp startTo;
+    private final Timestamp endFrom;
+    private final Timestamp endTo;
+
+    static BookingStateFilter of(BookingState state, Timestamp currentTime) {
+        switch (state) {
+            case ALL:
+                return new BookingStateFilter(ALL_STATUSES, MIN_TIME, MAX_TIME, MIN_TIME, MAX_TIME);
+            case PAST:
+                return new BookingStateFilter(ALL_STATUSES, MIN_TIME, MAX_TIME, MIN_TIME, currentTime);
+            case CURRENT:
+                return new BookingStateFilter(ALL_STATUSES, MIN_TIME, currentTime, currentTime, MAX_TIME);
+            case FUTURE:
+                return new BookingStateFilter(ALL_STATUSES, currentTime, MAX_TIME, MIN_TIME, MAX_TIME);
+            case WAITING:
+                return new BookingStateFilter(Collections.singletonList(BookingStatus.WAITING),
+                        MIN_TIME, MAX_TIME, MIN_TIME, MAX_TIME);
+            case REJECTED:
+                return new BookingStateFilter(Collections.singletonList(BookingStatus.REJECTED),
+                        MIN_TIME, MAX_TIME, MIN_TIME, MAX_TIME);
+            default:
+                throw new UnknownStateException(String.valueOf(state));
+        }
+    }
+}
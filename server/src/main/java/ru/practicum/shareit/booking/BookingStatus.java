@@ -1,8 +1,17 @@
 package ru.practicum.shareit.booking;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum BookingStatus {
     WAITING,
     APPROVED,
     REJECTED,
-    CANCELED
-}
\ No newline at end of file
+    CANCELED;
+
+    /**
+     * Статусы, при которых бронирование занимает вещь на свои даты.
+     */
+    public static final Set<BookingStatus> ACTIVE = Collections.unmodifiableSet(EnumSet.of(WAITING, APPROVED));
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.booking.calendar;
+
+import ru.practicum.shareit.booking.Booking;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Занятость вещей активными (WAITING, APPROVED) бронированиями: пересекающиеся интервалы одной вещи запрещены.
+ * Реализация выбирается свойством {@code shareit.booking.overlap-check}.
+ */
+public interface BookingCalendar {
+
+    /**
+     * Занимает интервал бронирования или бросает ValidationException, если он пересекается с другим активным.
+     * Вызывается в транзакции сохранения бронирования.
+     */
+    void reserve(Booking booking);
+
+    /**
+     * Интервалы активных бронирований вещи, пересекающиеся с [from, to), по возрастанию начала.
+     */
+    List<BusyInterval> findBusy(Long itemId, Timestamp from, Timestamp to);
+
+    /**
+     * Id вещей из списка, у которых есть активное бронирование, пересекающееся с [from, to). Не более одного запроса к БД.
+     */
+    Set<Long> findBusyItems(Collection<Long> itemIds, Timestamp from, Timestamp to);
+
+    /**
+     * Освобождает интервал бронирования, которое перестало быть активным.
+     */
+    default void release(Booking booking) {
+    }
+
+    /**
+     * Забывает занятость вещей, удаленных в обход сервиса (каскадом в БД).
+     */
+    default void evict(Collection<Long> itemIds) {
+    }
+
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.calendar;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.sql.Timestamp;
+
+/**
+ * Интервал [start, end), на который вещь занята активным бронированием.
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class BusyInterval {
+    private final Timestamp start;
+    private final Timestamp end;
+}
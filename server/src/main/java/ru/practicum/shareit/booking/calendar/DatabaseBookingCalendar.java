@@ -0,0 +1,56 @@
+package ru.practicum.shareit.booking.calendar;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import javax.validation.ValidationException;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Проверка по БД. Гонку двух одновременных вставок закрывает exclusion constraint bookings_no_overlap (PostgreSQL),
+ * здесь только быстрый отказ без попытки вставки.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.overlap-check", havingValue = "database")
+public class DatabaseBookingCalendar implements BookingCalendar {
+
+    private final BookingRepository bookingRepository;
+
+    @Override
+    public void reserve(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        if (bookingRepository.existsByItemIdAndStatusInAndStartBeforeAndEndAfter(
+                itemId, BookingStatus.ACTIVE, booking.getEnd(), booking.getStart())) {
+            throw new ValidationException("Вещь " + itemId + " уже забронирована на пересекающиеся даты");
+        }
+    }
+
+    @Override
+    public List<BusyInterval> findBusy(Long itemId, Timestamp from, Timestamp to) {
+        return bookingRepository.findAllByItemIdAndStatusInAndStartBeforeAndEndAfterOrderByStart(
+                        itemId, BookingStatus.ACTIVE, to, from)
+                .stream()
+                .map(b -> new BusyInterval(b.getStart(), b.getEnd()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Set<Long> findBusyItems(Collection<Long> itemIds, Timestamp from, Timestamp to) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(bookingRepository.findBusyItemIds(itemIds, BookingStatus.ACTIVE, to, from));
+    }
+
+}
@@ -0,0 +1,122 @@
+package ru.practicum.shareit.booking.calendar;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import javax.validation.ValidationException;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Занятость вещей в памяти для одного экземпляра сервера (H2 без exclusion constraint).
+ * Интервалы вещи загружаются из БД при первом обращении, дальше поддерживаются сервисом бронирований.
+ * Блокировка берется только на интервалы одной вещи.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.overlap-check", havingValue = "memory", matchIfMissing = true)
+public class InMemoryBookingCalendar implements BookingCalendar {
+
+    private final BookingRepository bookingRepository;
+
+    private final ConcurrentMap<Long, ItemIntervals> items = new ConcurrentHashMap<>();
+
+    @Override
+    public void reserve(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        ItemIntervals intervals = intervalsOf(itemId);
+        long start = booking.getStart().getTime();
+        long end = booking.getEnd().getTime();
+
+        if (!intervals.tryAdd(start, end)) {
+            throw new ValidationException("Вещь " + itemId + " уже забронирована на пересекающиеся даты");
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        intervals.remove(start, end);
+                    }
+                }
+            });
+        }
+    }
+
+    @Override
+    public List<BusyInterval> findBusy(Long itemId, Timestamp from, Timestamp to) {
+        return intervalsOf(itemId).between(from.getTime(), to.getTime());
+    }
+
+    /**
+     * Вещи, уже загруженные в память, проверяются по интервалам, остальные - одним запросом к БД без загрузки.
+     */
+    @Override
+    public Set<Long> findBusyItems(Collection<Long> itemIds, Timestamp from, Timestamp to) {
+        Set<Long> busy = new HashSet<>();
+        List<Long> notLoaded = new ArrayList<>();
+        for (Long itemId : itemIds) {
+            ItemIntervals intervals = items.get(itemId);
+            if (intervals == null) {
+                notLoaded.add(itemId);
+            } else if (intervals.isBusy(from.getTime(), to.getTime())) {
+                busy.add(itemId);
+            }
+        }
+        if (!notLoaded.isEmpty()) {
+            busy.addAll(bookingRepository.findBusyItemIds(notLoaded, BookingStatus.ACTIVE, to, from));
+        }
+        return busy;
+    }
+
+    @Override
+    public void release(Booking booking) {
+        ItemIntervals intervals = items.get(booking.getItem().getId());
+        if (intervals == null) {
+            return;
+        }
+        long start = booking.getStart().getTime();
+        long end = booking.getEnd().getTime();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    intervals.remove(start, end);
+                }
+            });
+        } else {
+            intervals.remove(start, end);
+        }
+    }
+
+    @Override
+    public void evict(Collection<Long> itemIds) {
+        itemIds.forEach(items::remove);
+    }
+
+    /**
+     * Интервалы читаются из БД вне блокировок map; если другой поток успел загрузить вещь раньше,
+     * используются его интервалы вместе с уже занятыми в них бронированиями.
+     */
+    private ItemIntervals intervalsOf(Long itemId) {
+        ItemIntervals intervals = items.get(itemId);
+        if (intervals != null) {
+            return intervals;
+        }
+        ItemIntervals loaded = new ItemIntervals();
+        bookingRepository.findAllByItemIdAndStatusIn(itemId, BookingStatus.ACTIVE)
+                .forEach(b -> loaded.put(b.getStart().getTime(), b.getEnd().getTime()));
+        intervals = items.putIfAbsent(itemId, loaded);
+        return intervals != null ? intervals : loaded;
+    }
+}
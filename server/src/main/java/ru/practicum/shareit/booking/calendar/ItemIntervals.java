@@ -0,0 +1,62 @@
+package ru.practicum.shareit.booking.calendar;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Непересекающиеся интервалы [start, end) одной вещи, упорядоченные по началу.
+ * Так как интервалы не пересекаются, проверка пересечения с новым интервалом - два поиска в дереве, O(log n).
+ */
+class ItemIntervals {
+
+    private final TreeMap<Long, Long> endByStart = new TreeMap<>();
+
+    synchronized boolean tryAdd(long start, long end) {
+        if (overlaps(start, end)) {
+            return false;
+        }
+        endByStart.put(start, end);
+        return true;
+    }
+
+    synchronized void remove(long start, long end) {
+        endByStart.remove(start, end);
+    }
+
+    /**
+     * Интервалы, пересекающиеся с [from, to): O(log n + k), k - число найденных.
+     */
+    synchronized List<BusyInterval> between(long from, long to) {
+        Long first = endByStart.floorKey(from);
+        if (first == null || endByStart.get(first) <= from) {
+            first = from;
+        }
+        List<BusyInterval> result = new ArrayList<>();
+        endByStart.subMap(first, true, to, false).forEach((start, end) ->
+                result.add(new BusyInterval(new Timestamp(start), new Timestamp(end))));
+        return result;
+    }
+
+    synchronized boolean isBusy(long from, long to) {
+        return overlaps(from, to);
+    }
+
+    /**
+     * Загрузка из БД: уже существующие интервалы добавляются без проверки.
+     */
+    void put(long start, long end) {
+        endByStart.put(start, end);
+    }
+
+    private boolean overlaps(long start, long end) {
+        Map.Entry<Long, Long> before = endByStart.floorEntry(start);
+        if (before != null && before.getValue() > start) {
+            return true;
+        }
+        Map.Entry<Long, Long> after = endByStart.higherEntry(start);
+        return after != null && after.getKey() < end;
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+@ToString
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingApprovalDto implements Serializable {
+    private Long bookingId;
+    private Boolean approved;
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.io.Serializable;
+
+/**
+ * Результат смены статуса одного бронирования из пакета: новый статус и вещь или текущий статус и причина отказа.
+ */
+@ToString
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingApprovalResultDto implements Serializable {
+    private Long bookingId;
+    private BookingStatus status;
+    private String error;
+    private Long itemId;
+}
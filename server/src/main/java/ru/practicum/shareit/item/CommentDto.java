@@ -11,7 +11,7 @@ import java.time.LocalDateTime;
 @ToString
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 public class CommentDto implements Serializable {
 
 
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Свободна ли вещь на весь период [from, to) и свободные окна внутри него.
+ */
+@ToString
+@Getter
+@Builder
+public class ItemAvailabilityDto implements Serializable {
+
+    private final Long itemId;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final Boolean available;
+    private final List<Window> freeWindows;
+
+    @ToString
+    @Getter
+    @AllArgsConstructor
+    public static class Window implements Serializable {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+    }
+}
@@ -11,7 +11,7 @@ import java.util.Set;
 @ToString
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 public class ItemDto implements Serializable {
 
 
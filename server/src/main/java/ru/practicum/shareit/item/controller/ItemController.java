@@ -1,11 +1,15 @@
 package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.CommentDto;
+import ru.practicum.shareit.item.ItemAvailabilityDto;
 import ru.practicum.shareit.item.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,17 +29,40 @@ public class ItemController {
         return itemService.findAllPageable(userId, from, size);
     }
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<List<ItemDto>> getAllItemsOfUserByCursor(@RequestHeader(USER_ID) Long userId,
+                                                                   @RequestParam final String cursor,
+                                                                   @RequestParam(defaultValue = "10") final int size) {
+        return itemService.findAllByCursor(userId, cursor, size).toResponseEntity();
+    }
+
     @GetMapping("{itemId}")
     public Optional<ItemDto> getItemById(@RequestHeader(USER_ID) Long userId,
                                          @PathVariable Long itemId) {
         return itemService.getItemByIdForAllUser(userId, itemId);
     }
 
+    @GetMapping("{itemId}/availability")
+    public ItemAvailabilityDto getItemAvailability(@PathVariable Long itemId,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                   LocalDateTime from,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                   LocalDateTime to) {
+        return itemService.getAvailability(itemId, from, to);
+    }
+
     @GetMapping("search")
     public List<ItemDto> getItemByText(@RequestParam String text,
+                                       @RequestParam(required = false)
+                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                       @RequestParam(required = false)
+                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
                                        @RequestParam(defaultValue = "0") final int from,
                                        @RequestParam(defaultValue = "10") final int size) {
-        return itemService.findItemByText(text, from, size);
+        if (start == null && end == null) {
+            return itemService.findItemByText(text, from, size);
+        }
+        return itemService.findItemByText(text, start, end, from, size);
     }
 
     @PostMapping
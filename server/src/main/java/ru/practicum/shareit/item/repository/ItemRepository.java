@@ -1,12 +1,16 @@
 package ru.practicum.shareit.item.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
 
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,14 +19,60 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
 
     Optional<Item> findByIdAndOwnerId(Long itemId, Long userId);
 
-    Page<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
+    Slice<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
 
-    List<Item> findAllByRequestId(Long requestId);
+    Slice<Item> findAllByOwnerIdAndIdGreaterThanOrderById(Long ownerId, Long id, Pageable pageable);
+
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
+
+    Slice<Item> findAllByIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    /**
+     * Вещи, которые БД удалит каскадом вместе с пользователем: его собственные и ответы на его запросы.
+     */
+    @Query("select i.id from Item i left join i.request r " +
+            "where i.owner.id = :userId or r.requester.id = :userId")
+    List<Long> findIdsDeletedWithUser(@Param("userId") Long userId);
 
     @Query(" select i from Item i " +
-            "where upper(i.name) like upper(concat('%', ?1, '%')) " +
-            " or upper(i.description) like upper(concat('%', ?1, '%'))" +
-            "and i.available = true")
-    Page<Item> search(String text, Pageable pageable);
+            "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
+            " or upper(i.description) like upper(concat('%', ?1, '%'))) " +
+            "and i.available = true " +
+            "order by i.id")
+    Slice<Item> search(String text, Pageable pageable);
+
+    @Query(value = "select * from items i " +
+            "where i.is_available = true " +
+            "and (i.name ilike concat('%', :text, '%') or i.description ilike concat('%', :text, '%')) " +
+            "order by greatest(similarity(i.name, :text), similarity(i.description, :text)) desc, i.id",
+            nativeQuery = true)
+    List<Item> searchByTrigram(@Param("text") String text, Pageable pageable);
+
+    /**
+     * Анти-join с бронированиями: подзапрос идет по индексу idx_bookings_item_start.
+     */
+    @Query(" select i from Item i " +
+            "where (upper(i.name) like upper(concat('%', :text, '%')) " +
+            " or upper(i.description) like upper(concat('%', :text, '%'))) " +
+            "and i.available = true " +
+            "and not exists (select b.id from Booking b " +
+            " where b.item = i and b.status in :statuses and b.start < :end and b.end > :start) " +
+            "order by i.id")
+    Slice<Item> searchFree(@Param("text") String text, @Param("statuses") Collection<BookingStatus> statuses,
+                           @Param("start") Timestamp start, @Param("end") Timestamp end, Pageable pageable);
+
+    /**
+     * Условие подзапроса совпадает с exclusion constraint bookings_no_overlap, поэтому он идет по его GiST-индексу.
+     */
+    @Query(value = "select * from items i " +
+            "where i.is_available = true " +
+            "and (i.name ilike concat('%', :text, '%') or i.description ilike concat('%', :text, '%')) " +
+            "and not exists (select 1 from bookings b " +
+            " where b.item_id = i.id and b.status in ('WAITING', 'APPROVED') " +
+            " and tsrange(b.start_date, b.end_date) && tsrange(cast(:start as timestamp), cast(:end as timestamp))) " +
+            "order by greatest(similarity(i.name, :text), similarity(i.description, :text)) desc, i.id",
+            nativeQuery = true)
+    List<Item> searchFreeByTrigram(@Param("text") String text, @Param("start") Timestamp start,
+                                   @Param("end") Timestamp end, Pageable pageable);
 
 }
@@ -0,0 +1,268 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.calendar.BookingCalendar;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Поиск без обращения к БД: триграммный инвертированный индекс доступных вещей в памяти.
+ * Индекс строится из БД при старте и обновляется сервисами при создании, изменении и каскадном удалении вещей.
+ * Занятость на даты проверяется в {@link BookingCalendar} порциями найденных вещей.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class InMemoryItemSearch implements ItemSearch {
+
+    private static final int GRAM = 3;
+    private static final int REBUILD_BATCH = 1000;
+    private static final int BUSY_CHECK_BATCH = 500;
+
+    private final ItemRepository itemRepository;
+    private final BookingCalendar bookingCalendar;
+
+    private final Map<Long, Item> documents = new HashMap<>();
+    private final Map<String, LongPostings> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            long lastId = 0L;
+            Slice<Item> items;
+            do {
+                items = itemRepository.findAllByIdGreaterThanOrderById(lastId, PageRequest.of(0, REBUILD_BATCH));
+                items.forEach(this::put);
+                if (items.hasContent()) {
+                    lastId = items.getContent().get(items.getNumberOfElements() - 1).getId();
+                }
+            } while (items.hasNext());
+            log.info("Поисковый индекс построен, вещей в индексе: {}", documents.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Item item) {
+        Item snapshot = snapshot(item);
+        afterCommit(() -> update(snapshot));
+    }
+
+    @Override
+    public void remove(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(itemIds);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                ids.forEach(this::remove);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        return page(find(text, pageable.getOffset() + pageable.getPageSize()), pageable);
+    }
+
+    /**
+     * Кандидаты проверяются порциями: под блокировкой индекса только текстовый поиск очередной порции,
+     * занятость ее вещей проверяется после снятия блокировки одним вызовом. Обход останавливается,
+     * как только набрано offset + size свободных вещей.
+     */
+    @Override
+    public List<Item> search(String text, Timestamp start, Timestamp end, Pageable pageable) {
+        String query = text.toLowerCase(Locale.ROOT);
+        long needed = pageable.getOffset() + pageable.getPageSize();
+        long[] candidates;
+        lock.readLock().lock();
+        try {
+            candidates = candidates(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Item> free = new ArrayList<>();
+        int next = 0;
+        while (next < candidates.length && free.size() < needed) {
+            List<Item> batch = new ArrayList<>();
+            lock.readLock().lock();
+            try {
+                next = collect(query, candidates, next, BUSY_CHECK_BATCH, batch);
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (batch.isEmpty()) {
+                break;
+            }
+            Set<Long> busy = bookingCalendar.findBusyItems(
+                    batch.stream().map(Item::getId).collect(Collectors.toList()), start, end);
+            for (Item item : batch) {
+                if (!busy.contains(item.getId()) && free.size() < needed) {
+                    free.add(item);
+                }
+            }
+        }
+        return page(free, pageable);
+    }
+
+    /**
+     * Первые limit вещей по возрастанию id, у которых текст есть в названии или описании.
+     */
+    private List<Item> find(String text, long limit) {
+        String query = text.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            List<Item> result = new ArrayList<>();
+            collect(query, candidates(query), 0, limit, result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Добавляет в result до limit подходящих вещей, начиная с кандидата from; возвращает позицию следующего
+     * кандидата. Вызывается под блокировкой на чтение; вещи, удаленные после выбора кандидатов, пропускаются.
+     */
+    private int collect(String query, long[] candidates, int from, long limit, List<Item> result) {
+        int next = from;
+        while (next < candidates.length && result.size() < limit) {
+            Item item = documents.get(candidates[next++]);
+            if (item != null && matches(item, query)) {
+                result.add(item);
+            }
+        }
+        return next;
+    }
+
+    private static List<Item> page(List<Item> items, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), items.size());
+        int to = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), items.size());
+        return new ArrayList<>(items.subList(from, to));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void update(Item item) {
+        lock.writeLock().lock();
+        try {
+            remove(item.getId());
+            put(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Item item) {
+        if (!Boolean.TRUE.equals(item.getAvailable())) {
+            return;
+        }
+        Item snapshot = snapshot(item);
+        documents.put(snapshot.getId(), snapshot);
+        grams(snapshot).forEach(gram -> postings.computeIfAbsent(gram, g -> new LongPostings()).add(snapshot.getId()));
+    }
+
+    private void remove(Long id) {
+        Item old = documents.remove(id);
+        if (old == null) {
+            return;
+        }
+        grams(old).forEach(gram -> {
+            LongPostings ids = postings.get(gram);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        });
+    }
+
+    private long[] candidates(String query) {
+        if (query.length() < GRAM) {
+            return documents.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+        List<LongPostings> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            LongPostings ids = postings.get(gram);
+            if (ids == null) {
+                return new long[0];
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(LongPostings::size));
+        long[] result = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = lists.get(i).retainAll(result);
+        }
+        return result;
+    }
+
+    private static boolean matches(Item item, String query) {
+        return item.getName().toLowerCase(Locale.ROOT).contains(query)
+                || item.getDescription().toLowerCase(Locale.ROOT).contains(query);
+    }
+
+    private static Set<String> grams(Item item) {
+        Set<String> grams = grams(item.getName().toLowerCase(Locale.ROOT));
+        grams.addAll(grams(item.getDescription().toLowerCase(Locale.ROOT)));
+        return grams;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static Item snapshot(Item item) {
+        Item snapshot = new Item(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
+        if (item.getRequest() != null) {
+            snapshot.setRequest(ItemRequest.builder()
+                    .id(item.getRequest().getId())
+                    .build());
+        }
+        return snapshot;
+    }
+}
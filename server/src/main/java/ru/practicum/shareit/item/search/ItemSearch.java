@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Поиск доступных для бронирования вещей по тексту в названии или описании.
+ * Реализация выбирается свойством {@code shareit.search.engine}.
+ */
+public interface ItemSearch {
+
+    List<Item> search(String text, Pageable pageable);
+
+    /**
+     * То же, но только вещи без активных бронирований, пересекающихся с [start, end).
+     */
+    List<Item> search(String text, Timestamp start, Timestamp end, Pageable pageable);
+
+    default void index(Item item) {
+    }
+
+    /**
+     * Убирает из индекса вещи, удаленные в обход сервиса (каскадом в БД).
+     */
+    default void remove(Collection<Long> itemIds) {
+    }
+
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Переносимый поиск через {@code upper(...) like '%text%'}, работает на любой БД (в том числе H2 в тестах).
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "like", matchIfMissing = true)
+public class LikeItemSearch implements ItemSearch {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        return itemRepository.search(text, pageable).getContent();
+    }
+
+    @Override
+    public List<Item> search(String text, Timestamp start, Timestamp end, Pageable pageable) {
+        return itemRepository.searchFree(text, BookingStatus.ACTIVE, start, end, pageable).getContent();
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Поиск для PostgreSQL: подстрока ищется через {@code ilike}, который обслуживают GIN-индексы
+ * {@code pg_trgm} по названию и описанию, результаты ранжируются по триграммному сходству.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "postgres")
+public class TrigramItemSearch implements ItemSearch {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        return itemRepository.searchByTrigram(text, pageable);
+    }
+
+    @Override
+    public List<Item> search(String text, Timestamp start, Timestamp end, Pageable pageable) {
+        return itemRepository.searchFreeByTrigram(text, start, end, pageable);
+    }
+}
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.CommentDto;
+import ru.practicum.shareit.item.ItemAvailabilityDto;
 import ru.practicum.shareit.item.ItemDto;
+import ru.practicum.shareit.pagination.CursorPage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,9 +20,18 @@ public interface ItemService {
 
     List<ItemDto> findItemByText(String text, int from, int size);
 
+    /**
+     * Поиск по тексту только среди вещей, свободных на весь период [start, end).
+     */
+    List<ItemDto> findItemByText(String text, LocalDateTime start, LocalDateTime end, int from, int size);
+
     CommentDto addCommentToItem(Long userDto, Long itemDto, CommentDto dto);
 
     List<ItemDto> findAllPageable(Long userId, int from,int size);
 
+    CursorPage<ItemDto> findAllByCursor(Long userId, String cursor, int size);
+
+    ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
 
 }
@@ -1,14 +1,18 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.calendar.BookingCalendar;
+import ru.practicum.shareit.booking.calendar.BusyInterval;
 import ru.practicum.shareit.item.CommentDto;
+import ru.practicum.shareit.item.ItemAvailabilityDto;
 import ru.practicum.shareit.item.ItemDto;
 import ru.practicum.shareit.item.ItemDtoLastNextBooking;
 import ru.practicum.shareit.item.mapper.CommentMapper;
@@ -17,6 +21,10 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.item.service.ItemViewCache.ItemView;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.UserRepository;
@@ -31,6 +39,7 @@ import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
@@ -40,12 +49,17 @@ public class ItemServiceImpl implements ItemService {
     private final CommentRepository commentRepository;
 
     private final ItemRequestRepository itemRequestRepository;
+
+    private final ItemSearch itemSearch;
+    private final ItemViewCache itemViewCache;
+    private final BookingCalendar bookingCalendar;
     private final ItemMapper mapper;
 
     private final CommentMapper commentMapper;
 
 
     @Override
+    @Transactional
     public ItemDto create(Long userId, ItemDto dto) {
 
         User user = userRepository.findById(userId).orElseThrow(
@@ -59,87 +73,141 @@ public class ItemServiceImpl implements ItemService {
             item.setRequest(iReq);
         }
 
-        return mapper.fromItem(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        itemSearch.index(savedItem);
+        return mapper.fromItem(savedItem);
 
     }
 
     @Override
+    @Transactional
     public Optional<ItemDto> update(Long userId, Long itemId, ItemDto itemDto) {
         Item itemFromData = itemRepository.findByIdAndOwnerId(itemId, userId).orElseThrow(
                 () -> new IllegalArgumentException("Item с id " + itemId + " не найден"));
         Optional.ofNullable(itemDto.getName()).ifPresent(itemFromData::setName);
         Optional.ofNullable(itemDto.getDescription()).ifPresent(itemFromData::setDescription);
         Optional.ofNullable(itemDto.getAvailable()).ifPresent(itemFromData::setAvailable);
-        return Optional.of(mapper.fromItem(itemRepository.save(itemFromData)));
+        Item savedItem = itemRepository.save(itemFromData);
+        itemSearch.index(savedItem);
+        itemViewCache.evict(itemId);
+        return Optional.of(mapper.fromItem(savedItem));
 
     }
 
     @Override
     public Optional<ItemDto> getItemByIdForAllUser(Long userId, Long itemId) {
+        ItemView view = itemViewCache.get(itemId, this::loadItemView);
+        ItemDto itemDto = copyOf(view.getItem());
+        if (view.getOwnerId().equals(userId)) {
+            setLastAndNextBookings(List.of(itemDto));
+        }
+        return Optional.of(itemDto);
+    }
+
+    /**
+     * Представление из кэша общее для всех, наружу отдается копия вместе с комментариями.
+     */
+    private static ItemDto copyOf(ItemDto cached) {
+        return cached.toBuilder()
+                .comments(cached.getComments().stream()
+                        .map(comment -> comment.toBuilder().build())
+                        .collect(Collectors.toSet()))
+                .build();
+    }
+
+    private ItemView loadItemView(Long itemId) {
         Item item = itemRepository.findById(itemId).orElseThrow(
                 () -> new IllegalArgumentException("Item с id " + itemId + " не найден"));
-        ItemDto itemDto = mapper.fromItem(item);
-        if (item.getOwner().getId().equals(userId)) {
-            getAndSetLastAndNextBooking(itemDto);
-        }
-        return Optional.of(addCommentsToItemDto(itemDto));
+        ItemDto itemDto = addCommentsToItemDto(mapper.fromItem(item), commentRepository.findAllByItemId(itemId));
+        return new ItemView(item.getOwner().getId(), itemDto);
     }
 
     @Override
     public List<ItemDto> findAllPageable(Long userId, int from, int size) {
 
         Pageable pageable = PageRequest.of(from, size);
-        Page<Item> userItems = itemRepository.findAllByOwnerId(userId, pageable);
+        Slice<Item> userItems = itemRepository.findAllByOwnerId(userId, pageable);
 
         if (userItems.isEmpty()) {
             throw new IllegalArgumentException("Ни один айтем не найден");
         }
 
+        return toOwnerItemDtos(userItems.getContent());
+    }
+
+    @Override
+    public CursorPage<ItemDto> findAllByCursor(Long userId, String cursor, int size) {
+        Cursor position = Cursor.decode(cursor, Cursor.firstAscending());
+        Slice<Item> userItems = itemRepository.findAllByOwnerIdAndIdGreaterThanOrderById(
+                userId, position.getId(), PageRequest.of(0, size));
+
+        if (userItems.isEmpty()) {
+            return new CursorPage<>(Collections.emptyList(), null);
+        }
+
+        List<Item> content = userItems.getContent();
+        String nextCursor = userItems.hasNext()
+                ? Cursor.of(content.get(content.size() - 1).getId()).encode()
+                : null;
+        return new CursorPage<>(toOwnerItemDtos(content), nextCursor);
+    }
+
+    private List<ItemDto> toOwnerItemDtos(List<Item> userItems) {
+        List<Long> itemIds = userItems.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+
+        Map<Long, List<Comment>> commentsByItem = commentRepository.findAllByItemIdIn(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(c -> c.getItem().getId()));
+
         List<ItemDto> resultList = new ArrayList<>();
 
-        userItems.forEach(i -> {
-            ItemDto dto = getAndSetLastAndNextBooking(mapper.fromItem(i));
-            resultList.add(addCommentsToItemDto(dto));
-        });
+        userItems.forEach(i -> resultList.add(addCommentsToItemDto(mapper.fromItem(i),
+                commentsByItem.getOrDefault(i.getId(), Collections.emptyList()))));
+
+        setLastAndNextBookings(resultList);
 
         return resultList.stream()
                 .sorted(Comparator.comparing(ItemDto::getId))
                 .collect(Collectors.toList());
     }
 
-    private ItemDto getAndSetLastAndNextBooking(ItemDto dto) {
+    private void setLastAndNextBookings(List<ItemDto> dtos) {
         Timestamp currentTime = Timestamp.from(Instant.now());
-        List<Booking> bookings = bookingRepository.findAllByItemId(dto.getId());
+        List<Long> itemIds = dtos.stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
 
-        Optional<Booking> lastBooking = bookings
-                .stream()
-                .filter(b -> b.getStatus().equals(BookingStatus.APPROVED) && (b.getStart().equals(currentTime)
-                        || b.getStart().before(currentTime)))
-                .max(Comparator.comparing(Booking::getStart));
+        Map<Long, Booking> lastBookings = toBookingByItem(
+                bookingRepository.findLastBookingsOfItems(itemIds, BookingStatus.APPROVED, currentTime));
+        Map<Long, Booking> nextBookings = toBookingByItem(
+                bookingRepository.findNextBookingsOfItems(itemIds, currentTime));
 
-        Optional<Booking> nextBooking = bookings
-                .stream()
-                .filter(b -> b.getStart().after(currentTime))
-                .min(Comparator.comparing(Booking::getStart));
+        dtos.forEach(dto -> {
+            Optional.ofNullable(lastBookings.get(dto.getId()))
+                    .ifPresent(booking -> dto.setLastBooking(toLastNextBooking(booking)));
+            Optional.ofNullable(nextBookings.get(dto.getId()))
+                    .ifPresent(booking -> dto.setNextBooking(toLastNextBooking(booking)));
+        });
+    }
 
-        lastBooking.ifPresent(booking -> dto.setLastBooking(ItemDtoLastNextBooking.builder()
-                .id(booking.getId())
-                .bookerId(booking.getBooker().getId())
-                .build()));
+    private Map<Long, Booking> toBookingByItem(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(b -> b.getItem().getId(), b -> b, (first, second) -> first));
+    }
 
-        nextBooking.ifPresent(booking -> dto.setNextBooking(ItemDtoLastNextBooking.builder()
+    private ItemDtoLastNextBooking toLastNextBooking(Booking booking) {
+        return ItemDtoLastNextBooking.builder()
                 .id(booking.getId())
                 .bookerId(booking.getBooker().getId())
-                .build()));
-
-        return dto;
-
+                .build();
     }
 
-    private ItemDto addCommentsToItemDto(ItemDto dto) {
+    private ItemDto addCommentsToItemDto(ItemDto dto, List<Comment> comments) {
 
         Set<CommentDto> commentDto =
-                commentRepository.findAllByItemId(dto.getId())
+                comments
                         .stream()
                         .map(commentMapper::toDto)
                         .collect(Collectors.toSet());
@@ -148,19 +216,76 @@ public class ItemServiceImpl implements ItemService {
        return dto;
     }
 
+    @Override
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Начало периода должно быть раньше его окончания");
+        }
+        Item item = itemRepository.findById(itemId).orElseThrow(
+                () -> new IllegalArgumentException("Item с id " + itemId + " не найден"));
+
+        List<ItemAvailabilityDto.Window> freeWindows = new ArrayList<>();
+        boolean available = false;
+        if (item.getAvailable()) {
+            List<BusyInterval> busy = bookingCalendar.findBusy(itemId, Timestamp.valueOf(from), Timestamp.valueOf(to));
+            LocalDateTime freeFrom = from;
+            for (BusyInterval interval : busy) {
+                LocalDateTime busyStart = interval.getStart().toLocalDateTime();
+                LocalDateTime busyEnd = interval.getEnd().toLocalDateTime();
+                if (busyStart.isAfter(freeFrom)) {
+                    freeWindows.add(new ItemAvailabilityDto.Window(freeFrom, busyStart));
+                }
+                if (busyEnd.isAfter(freeFrom)) {
+                    freeFrom = busyEnd;
+                }
+            }
+            if (freeFrom.isBefore(to)) {
+                freeWindows.add(new ItemAvailabilityDto.Window(freeFrom, to));
+            }
+            available = busy.isEmpty();
+        }
+
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .available(available)
+                .freeWindows(freeWindows)
+                .build();
+    }
+
     @Override
     public List<ItemDto> findItemByText(String text, int from, int size) {
         if (text.isBlank()) {
             return Collections.emptyList();
         }
 
-        return itemRepository.search(text, PageRequest.of(from, size))
+        return itemSearch.search(text, PageRequest.of(from, size))
+                .stream()
+                .map(mapper::fromItem)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ItemDto> findItemByText(String text, LocalDateTime start, LocalDateTime end, int from, int size) {
+        if (start == null || end == null) {
+            throw new ValidationException("Период поиска должен содержать начало и окончание");
+        }
+        if (!start.isBefore(end)) {
+            throw new ValidationException("Начало периода должно быть раньше его окончания");
+        }
+        if (text.isBlank()) {
+            return Collections.emptyList();
+        }
+
+        return itemSearch.search(text, Timestamp.valueOf(start), Timestamp.valueOf(end), PageRequest.of(from, size))
                 .stream()
                 .map(mapper::fromItem)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional
     public CommentDto addCommentToItem(Long userId, Long itemId, CommentDto dto) {
         User user  = userRepository.findById(userId).orElseThrow(
                 () -> new IllegalArgumentException("User с id " + userId + " не найден"));
@@ -179,6 +304,7 @@ public class ItemServiceImpl implements ItemService {
         comment.setAuthor(user);
         comment.setCreated(Timestamp.valueOf(LocalDateTime.now()));
         comment = commentRepository.save(comment);
+        itemViewCache.evict(itemId);
         return commentMapper.toDto(comment);
     }
 
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.item.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.ItemDto;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Кэш собранного представления вещи для не владельца: вещь вместе с комментариями.
+ */
+@Component
+public class ItemViewCache {
+
+    private static final String CACHE_NAME = "item.views";
+
+    private final Cache<Long, ItemView> cache;
+
+    public ItemViewCache(@Value("${shareit.item-view-cache.max-size:10000}") long maxSize,
+                         @Value("${shareit.item-view-cache.ttl:10m}") Duration ttl,
+                         ObjectProvider<MeterRegistry> meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME));
+    }
+
+    /**
+     * Загрузка идет под блокировкой ключа, поэтому одновременная инвалидация не оставит в кэше старое значение.
+     */
+    public ItemView get(Long itemId, Function<Long, ItemView> loader) {
+        return cache.get(itemId, loader);
+    }
+
+    /**
+     * Внутри транзакции запись удаляется после коммита, иначе ее успеют снова загрузить из старых данных.
+     */
+    public void evict(Long itemId) {
+        afterCommit(() -> cache.invalidate(itemId));
+    }
+
+    public void evictAll() {
+        afterCommit(cache::invalidateAll);
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class ItemView {
+        private final Long ownerId;
+        private final ItemDto item;
+    }
+}
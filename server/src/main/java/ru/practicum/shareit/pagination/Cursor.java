@@ -0,0 +1,84 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.validation.ValidationException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Непрозрачный курсор для keyset-пагинации: позиция последней отданной записи.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class Cursor {
+
+    private static final String SEPARATOR = "|";
+
+    private static final Timestamp MAX_TIME = Timestamp.valueOf(LocalDateTime.of(9999, 12, 31, 23, 59, 59));
+
+    private final Timestamp time;
+
+    private final long id;
+
+    private Cursor(Timestamp time, long id) {
+        this.time = time;
+        this.id = id;
+    }
+
+    public static Cursor of(Timestamp time, Long id) {
+        return new Cursor(time, id);
+    }
+
+    public static Cursor of(Long id) {
+        return new Cursor(null, id);
+    }
+
+    /**
+     * Курсор первой страницы для сортировки по убыванию.
+     */
+    public static Cursor firstDescending() {
+        return new Cursor(MAX_TIME, Long.MAX_VALUE);
+    }
+
+    /**
+     * Курсор первой страницы для сортировки по возрастанию id.
+     */
+    public static Cursor firstAscending() {
+        return new Cursor(null, 0L);
+    }
+
+    public static Cursor decode(String value, Cursor first) {
+        if (value == null || value.isBlank()) {
+            return first;
+        }
+        Cursor cursor;
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            if (separator < 0) {
+                cursor = of(Long.parseLong(decoded));
+            } else {
+                cursor = of(Timestamp.valueOf(LocalDateTime.parse(decoded.substring(0, separator))),
+                        Long.parseLong(decoded.substring(separator + 1)));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Некорректный курсор пагинации: " + value);
+        }
+        if ((cursor.time == null) != (first.time == null)) {
+            throw new ValidationException("Курсор " + value + " относится к другому списку");
+        }
+        return cursor;
+    }
+
+    public String encode() {
+        String raw = time == null ? String.valueOf(id) : time.toLocalDateTime() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
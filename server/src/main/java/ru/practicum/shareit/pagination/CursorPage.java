@@ -0,0 +1,31 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static ru.practicum.shareit.Constants.NEXT_CURSOR;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private final List<T> content;
+
+    /**
+     * Курсор следующей страницы, null если записей больше нет.
+     */
+    private final String nextCursor;
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (nextCursor != null) {
+            builder.header(NEXT_CURSOR, nextCursor);
+        }
+        return builder.body(content);
+    }
+}
@@ -2,6 +2,8 @@ package ru.practicum.shareit.request;
 
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -17,6 +19,8 @@ import java.util.List;
 @ToString
 @Entity
 @Table(name = "requests", schema = "public")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class ItemRequest {
 
     @Id
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
@@ -36,6 +37,13 @@ public class ItemRequestController {
 
     }
 
+    @GetMapping(value = "all", params = "cursor")
+    public ResponseEntity<List<ItemRequestDto>> findAllByCursor(@RequestHeader(USER_ID) Long userId,
+                                                                @RequestParam final String cursor,
+                                                                @RequestParam(defaultValue = "10") final int size) {
+        return itemRequestService.findAllByCursor(userId, cursor, size).toResponseEntity();
+    }
+
     @GetMapping("{requestId}")
     public ItemRequestDto findItemRequestById(@RequestHeader(USER_ID) Long userId,
                                               @PathVariable Long requestId) {
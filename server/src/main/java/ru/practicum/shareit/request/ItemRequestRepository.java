@@ -1,18 +1,27 @@
 package ru.practicum.shareit.request;
 
-import lombok.NonNull;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.sql.Timestamp;
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
     List<ItemRequest> findAllByRequesterId(Long userId, Sort sort);
 
-    @Override
-    @NonNull
-    Page<ItemRequest> findAll(Pageable pageable);
+    Slice<ItemRequest> findAllByRequesterIdNot(Long userId, Pageable pageable);
+
+    @Query("select r from ItemRequest r " +
+            "where r.requester.id <> :userId " +
+            "and (r.created < :created or (r.created = :created and r.id < :id)) " +
+            "order by r.created desc, r.id desc")
+    Slice<ItemRequest> findOthersRequestsBefore(@Param("userId") Long userId,
+                                                @Param("created") Timestamp created,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
 }
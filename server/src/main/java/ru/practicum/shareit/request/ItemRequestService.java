@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.List;
@@ -12,5 +13,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> findAllPageable(Long userId, int from,int size);
 
+    CursorPage<ItemRequestDto> findAllByCursor(Long userId, String cursor, int size);
+
     ItemRequestDto findItemRequestById(Long userId, Long itemReqId);
 }
@@ -3,10 +3,14 @@ package ru.practicum.shareit.request;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestInfo;
 import ru.practicum.shareit.user.UserRepository;
@@ -15,10 +19,12 @@ import ru.practicum.shareit.user.model.User;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final UserRepository userRepository;
@@ -28,9 +34,10 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestMapper itemRequestMapper;
 
-    private static final Sort SORT = Sort.by(Sort.Direction.DESC, "created");
+    private static final Sort SORT = Sort.by(Sort.Direction.DESC, "created", "id");
 
     @Override
+    @Transactional
     public ItemRequestDto addNewRequest(Long userId, ItemRequestDto dto) {
         User user = userRepository.findById(userId).orElseThrow(
                 () -> new IllegalArgumentException("User с id " + userId + " не найден"));
@@ -45,16 +52,8 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         checkUser(userId);
 
         List<ItemRequest> allUserReq = itemRequestRepository.findAllByRequesterId(userId, SORT);
-        List<ItemRequestDto> resultList = new ArrayList<>();
 
-        allUserReq.forEach(iReq -> {
-
-            ItemRequestDto iReqResult = convertItemsAndRequests(iReq);
-            resultList.add(iReqResult);
-
-        });
-
-        return resultList;
+        return convertItemsAndRequests(allUserReq);
 
     }
 
@@ -62,22 +61,26 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequestDto> findAllPageable(Long userId, int from, int size) {
         checkUser(userId);
         Pageable pageable = PageRequest.of(from, size, SORT);
-        List<ItemRequest> iReqPages = itemRequestRepository.findAll(pageable)
-                .stream()
-                .filter(i -> !i.getRequester().getId().equals(userId))
-                .collect(Collectors.toList());
+        Slice<ItemRequest> iReqPages = itemRequestRepository.findAllByRequesterIdNot(userId, pageable);
 
-        if (iReqPages.isEmpty()) {
-            return Collections.emptyList();
-        }
+        return convertItemsAndRequests(iReqPages.getContent());
+    }
+
+    @Override
+    public CursorPage<ItemRequestDto> findAllByCursor(Long userId, String cursor, int size) {
+        checkUser(userId);
+        Cursor position = Cursor.decode(cursor, Cursor.firstDescending());
+        Slice<ItemRequest> iReqSlice = itemRequestRepository.findOthersRequestsBefore(
+                userId, position.getTime(), position.getId(), PageRequest.of(0, size));
 
-        List<ItemRequestDto> resultList = new ArrayList<>();
-        iReqPages.forEach(iReq -> {
-            ItemRequestDto iReqResult = convertItemsAndRequests(iReq);
-            resultList.add(iReqResult);
+        List<ItemRequestDto> resultList = convertItemsAndRequests(iReqSlice.getContent());
 
-        });
-        return resultList;
+        String nextCursor = null;
+        if (iReqSlice.hasNext()) {
+            ItemRequest last = iReqSlice.getContent().get(iReqSlice.getNumberOfElements() - 1);
+            nextCursor = Cursor.of(last.getCreated(), last.getId()).encode();
+        }
+        return new CursorPage<>(resultList, nextCursor);
     }
 
     @Override
@@ -85,41 +88,41 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         checkUser(userId);
         ItemRequest iReq = itemRequestRepository.findById(itemReqId).orElseThrow(
                 () -> new IllegalArgumentException("Запроса с id " + itemReqId + " не существует"));
-        return convertItemsAndRequests(iReq);
+        return convertItemsAndRequests(List.of(iReq)).get(0);
     }
 
-    private ItemRequestDto convertItemsAndRequests(ItemRequest iReq) {
-
-        ItemRequestDto iReqResult = itemRequestMapper.toDto(iReq);
-        List<ItemRequestInfo> itemsForEveryIReq = new ArrayList<>();
-        List<Item> itemsForRequest = itemRepository.findAllByRequestId(iReq.getId());
-
-        if (itemsForRequest.isEmpty()) {
-            iReqResult.setItems(Collections.emptyList());
-        } else {
-
-            itemsForRequest.forEach(item -> {
-
-                    ItemRequestInfo info = ItemRequestInfo.builder()
-                            .id(item.getId())
-                            .name(item.getName())
-                            .description(item.getDescription())
-                            .available(item.getAvailable())
-                            .requestId(iReq.getId())
-                            .build();
-
-                    itemsForEveryIReq.add(info);
-
-                }
-
-        );
-
-        iReqResult.setItems(itemsForEveryIReq);
+    private List<ItemRequestDto> convertItemsAndRequests(List<ItemRequest> iReqs) {
 
+        if (iReqs.isEmpty()) {
+            return Collections.emptyList();
         }
 
-        return iReqResult;
+        List<Long> iReqIds = iReqs.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+
+        Map<Long, List<ItemRequestInfo>> itemsByRequest = itemRepository.findAllByRequestIdIn(iReqIds)
+                .stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                        Collectors.mapping(this::toItemRequestInfo, Collectors.toList())));
+
+        return iReqs.stream()
+                .map(iReq -> {
+                    ItemRequestDto iReqResult = itemRequestMapper.toDto(iReq);
+                    iReqResult.setItems(itemsByRequest.getOrDefault(iReq.getId(), Collections.emptyList()));
+                    return iReqResult;
+                })
+                .collect(Collectors.toList());
+    }
 
+    private ItemRequestInfo toItemRequestInfo(Item item) {
+        return ItemRequestInfo.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .requestId(item.getRequest().getId())
+                .build();
     }
 
     private void checkUser(Long userId) {
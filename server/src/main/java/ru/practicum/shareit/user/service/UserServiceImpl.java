@@ -3,11 +3,21 @@ package ru.practicum.shareit.user.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.calendar.BookingCalendar;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.item.service.ItemViewCache;
+import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -17,6 +27,12 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper mapper;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ItemViewCache itemViewCache;
+    private final BookingCalendar bookingCalendar;
+    private final ItemSearch itemSearch;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
 
     @Override
     public UserDto create(UserDto userDto) {
@@ -34,7 +50,10 @@ public class UserServiceImpl implements UserService {
                     () -> new IllegalArgumentException("Юзер с id " + id + " не найден"));
             Optional.ofNullable(userDto.getName()).ifPresent(userForUpdate::setName);
             Optional.ofNullable(userDto.getEmail()).ifPresent(userForUpdate::setEmail);
-            return Optional.of(mapper.fromUser(userRepository.save(userForUpdate)));
+            UserDto updated = mapper.fromUser(userRepository.save(userForUpdate));
+            // имя автора входит в комментарии закэшированных вещей
+            itemViewCache.evictAll();
+            return Optional.of(updated);
     }
 
     @Override
@@ -57,7 +76,18 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public void deleteUserById(Long id) {
+        List<Long> deletedItemIds = itemRepository.findIdsDeletedWithUser(id);
+        List<Booking> deletedBookings = bookingRepository.findAllWithItemByBookerIdAndStatusIn(id,
+                BookingStatus.ACTIVE);
         userRepository.deleteById(id);
+        // вещи, запросы и бронирования пользователя удаляются каскадом в БД, мимо кэшей
+        entityManagerFactory.getCache().evict(Item.class);
+        entityManagerFactory.getCache().evict(ItemRequest.class);
+        itemViewCache.evictAll();
+        // чужие вещи остаются в календаре, из них убираются только интервалы бронирований пользователя
+        deletedBookings.forEach(bookingCalendar::release);
+        bookingCalendar.evict(deletedItemIds);
+        itemSearch.remove(deletedItemIds);
     }
 
 }
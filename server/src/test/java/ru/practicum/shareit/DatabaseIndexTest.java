@@ -0,0 +1,81 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class DatabaseIndexTest {
+
+    private static final String TABLE_SCAN = "tableScan";
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void bookingsOfBooker_useBookerStartIndex() {
+        String plan = explain("select * from bookings b where b.booker_id = 1 " +
+                "and b.start_date > current_timestamp order by b.start_date desc limit 10");
+
+        assertThat(plan).containsIgnoringCase("idx_bookings_booker_start").doesNotContain(TABLE_SCAN);
+    }
+
+    @Test
+    void bookingsOfBookerByStatus_useBookerStatusIndex() {
+        String plan = explain("select * from bookings b where b.booker_id = 1 " +
+                "and b.status = 'WAITING' order by b.start_date desc limit 10");
+
+        assertThat(plan).containsIgnoringCase("idx_bookings_booker_status_start").doesNotContain(TABLE_SCAN);
+    }
+
+    @Test
+    void bookingsOfOwner_useOwnerAndItemStartIndexes() {
+        String plan = explain("select b.* from bookings b join items i on b.item_id = i.id " +
+                "where i.owner_id = 1 and b.start_date > current_timestamp order by b.start_date desc limit 10");
+
+        assertThat(plan).containsIgnoringCase("idx_bookings_item_start").doesNotContain(TABLE_SCAN);
+    }
+
+    @Test
+    void nextBookingsOfItems_useItemStartIndex() {
+        String plan = explain("select * from bookings b where b.item_id in (1, 2) " +
+                "and b.start_date > current_timestamp and b.start_date = (select min(nb.start_date) " +
+                "from bookings nb where nb.item_id = b.item_id and nb.start_date > current_timestamp)");
+
+        assertThat(plan).containsIgnoringCase("idx_bookings_item_start").doesNotContain(TABLE_SCAN);
+    }
+
+    @Test
+    void finishedBookingsOfItemAndBooker_useItemBookerIndex() {
+        String plan = explain("select * from bookings b where b.item_id = 1 and b.booker_id = 2 " +
+                "and b.end_date < current_timestamp and b.status = 'APPROVED'");
+
+        assertThat(plan).containsIgnoringCase("idx_bookings_item_booker_end").doesNotContain(TABLE_SCAN);
+    }
+
+    @Test
+    void requestsOfOtherUsers_useCreatedIndex() {
+        String plan = explain("select * from requests r where r.requester_id <> 1 " +
+                "order by r.created desc, r.id desc limit 10");
+
+        assertThat(plan).containsIgnoringCase("idx_requests_created");
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class);
+    }
+
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+        properties = {
+                "db.name=test",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+                "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+                "spring.jpa.properties.hibernate.javax.cache.provider="
+                        + "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+                "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create",
+                "spring.jpa.properties.hibernate.generate_statistics=true"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class SecondLevelCacheTest {
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final UserService userService;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private User owner;
+
+    private Item item;
+
+    @BeforeEach
+    public void setUp() {
+        owner = userRepository.save(new User(null, "Alla", "alla@gmail.com"));
+        item = new Item(null, "Дрель", "Простая дрель", true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @DisplayName("Repeated lookups of user and item by id are served from the second-level cache")
+    @Test
+    public void givenCachedEntities_whenFindById_thenNoStatements() {
+        userRepository.findById(owner.getId());
+        itemRepository.findById(item.getId());
+        statistics.clear();
+
+        assertThat(userRepository.findById(owner.getId())).isPresent();
+        assertThat(itemRepository.findById(item.getId())).isPresent();
+
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @DisplayName("Updated user is not served stale from the second-level cache")
+    @Test
+    public void givenUpdatedUser_whenFindById_thenNewName() {
+        userRepository.findById(owner.getId());
+
+        userService.update(owner.getId(), new UserDto(null, "Алла", null));
+
+        assertThat(userRepository.findById(owner.getId()))
+                .hasValueSatisfying(user -> assertThat(user.getName()).isEqualTo("Алла"));
+    }
+
+    @DisplayName("Items removed by the database cascade on user delete are evicted from the cache")
+    @Test
+    public void givenDeletedOwner_whenFindItem_thenEmpty() {
+        itemRepository.findById(item.getId());
+
+        userService.deleteUserById(owner.getId());
+
+        assertThat(itemRepository.findById(item.getId())).isEmpty();
+    }
+}
@@ -10,6 +10,8 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
 import ru.practicum.shareit.booking.dto.BookingDtoFromRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoToResponse;
 import ru.practicum.shareit.booking.dto.ItemDtoBookingToResponse;
@@ -119,6 +121,28 @@ public class BookingControllerTest {
 
     }
 
+    @DisplayName("MockMvc test for setApproveToBookings method")
+    @Test
+    void givenApprovals_whenSetApproveToBookings_thenReturnResultPerId() throws Exception {
+
+        List<BookingApprovalDto> approvals = List.of(new BookingApprovalDto(1L, true), new BookingApprovalDto(2L, false));
+        when(bookingService.setApproveToBookings(anyLong(), anyList())).thenReturn(List.of(
+                new BookingApprovalResultDto(1L, BookingStatus.APPROVED, null, 1L),
+                new BookingApprovalResultDto(2L, null, "Booking с id 2 не найден", null)));
+
+        mvc.perform(patch("/bookings/batch")
+                        .content(mapper.writeValueAsString(approvals))
+                        .header(USER_ID, 1L)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookingId").value(1L))
+                .andExpect(jsonPath("$[0].status").value(BookingStatus.APPROVED.toString()))
+                .andExpect(jsonPath("$[0].itemId").value(1L))
+                .andExpect(jsonPath("$[1].bookingId").value(2L))
+                .andExpect(jsonPath("$[1].error").value("Booking с id 2 не найден"));
+    }
+
     @DisplayName("MockMvc test for setApproveToBooking method")
     @Test
     void givenBookingId_whenSetApproveToBooking_thenReturnBookingDTO() throws Exception {
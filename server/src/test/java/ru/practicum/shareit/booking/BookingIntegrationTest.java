@@ -6,8 +6,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDtoFromRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoToResponse;
 import ru.practicum.shareit.booking.dto.ItemDtoBookingToResponse;
 import ru.practicum.shareit.booking.dto.UserDtoBookingToResponse;
@@ -17,11 +19,13 @@ import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import javax.validation.ValidationException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.Constants.NEXT_CURSOR;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @Transactional
@@ -42,6 +46,8 @@ public class BookingIntegrationTest {
 
     private int size;
 
+    private User user2;
+
     private User user3;
 
     private BookingDtoToResponse responseDto1;
@@ -61,7 +67,7 @@ public class BookingIntegrationTest {
         size = 5;
 
         User user1 = new User(null, "Anna", "anna13@36on.ru");
-        User user2 = new User(null, "Olga", "olga@gmail.com");
+        user2 = new User(null, "Olga", "olga@gmail.com");
         user3 = new User(null, "Alla", "alla@gmail.com");
 
         user1 = userRepository.save(user1);
@@ -233,6 +239,48 @@ public class BookingIntegrationTest {
 
     }
 
+    @DisplayName("Integration test for getBookingsAllOrByStateForOwnerByCursor method")
+    @Test
+    public void givenSize2_whenGetBookingsForOwnerByCursor_thenScrollAllBookings() {
+
+        ResponseEntity<List<BookingDtoToResponse>> firstPage = bookingController
+                .getBookingsAllOrByStateForOwnerByCursor(user3.getId(), BookingState.ALL, "", 2);
+
+        assertThat(firstPage.getBody()).containsExactly(responseDto3, responseDto2);
+        String cursor = firstPage.getHeaders().getFirst(NEXT_CURSOR);
+        assertThat(cursor).isNotBlank();
+
+        ResponseEntity<List<BookingDtoToResponse>> secondPage = bookingController
+                .getBookingsAllOrByStateForOwnerByCursor(user3.getId(), BookingState.ALL, cursor, 2);
+
+        assertThat(secondPage.getBody()).containsExactly(responseDto1);
+        assertThat(secondPage.getHeaders().containsKey(NEXT_CURSOR)).isFalse();
+    }
+
+    @DisplayName("Integration test for getBookingsAllOrByStateByCursor method")
+    @Test
+    public void givenPastState_whenGetBookingsByCursor_thenReturnOnlyPastBookerBookings() {
+
+        ResponseEntity<List<BookingDtoToResponse>> page = bookingController
+                .getBookingsAllOrByStateByCursor(user2.getId(), BookingState.PAST, "", 5);
+
+        assertThat(page.getBody()).containsExactly(responseDto3, responseDto1);
+        assertThat(page.getHeaders().containsKey(NEXT_CURSOR)).isFalse();
+    }
+
+    @DisplayName("Integration test for getBookingsAllOrByState method")
+    @Test
+    public void givenAllState_whenGetBookingsAllOrByState_thenReturnOnlyBookerBookings() {
+
+        List<BookingDtoToResponse> respList = bookingController.getBookingsAllOrByState(
+                user2.getId(), BookingState.ALL, from, size);
+
+        assertThat(respList.size()).isEqualTo(2);
+        assertThat(respList.get(0)).isEqualTo(responseDto3);
+        assertThat(respList.get(1)).isEqualTo(responseDto1);
+
+    }
+
     @DisplayName("Integration test for getBookingsAllOrByStateForOwner method (negative scenario)")
     @Test
     public void givenBookingUnsupportedState_whenGetBookingsAllOrByStateForOwner_thenThrowException() {
@@ -253,4 +301,41 @@ public class BookingIntegrationTest {
 
     }
 
+    @DisplayName("Integration test for createBooking method with overlapping dates")
+    @Test
+    public void givenOverlappingActiveBooking_whenCreateBooking_thenThrowValidationException() {
+        BookingDtoFromRequest dto = new BookingDtoFromRequest();
+        dto.setItemId(1L);
+        dto.setStart(LocalDateTime.parse("2022-12-01T10:09:00"));
+        dto.setEnd(LocalDateTime.parse("2022-12-20T10:09:00"));
+
+        assertThrows(ValidationException.class, () -> bookingController.createBooking(1L, dto));
+
+        dto.setStart(LocalDateTime.parse("2022-12-13T10:09:00"));
+        BookingDtoToResponse adjacent = bookingController.createBooking(1L, dto);
+
+        assertThat(adjacent.getStatus()).isEqualTo(BookingStatus.WAITING);
+        assertThrows(ValidationException.class, () -> bookingController.createBooking(1L, dto));
+    }
+
+    @DisplayName("Integration test for setApproveToBooking method with repeated approval")
+    @Test
+    public void givenWaitingBooking_whenSetApproveToBookingTwice_thenSecondThrowsValidationException() {
+        BookingDtoFromRequest dto = new BookingDtoFromRequest();
+        dto.setItemId(1L);
+        dto.setStart(LocalDateTime.parse("2023-05-01T10:00:00"));
+        dto.setEnd(LocalDateTime.parse("2023-05-10T10:00:00"));
+        BookingDtoToResponse created = bookingController.createBooking(1L, dto);
+
+        BookingDtoToResponse approved = bookingController.setApproveToBooking(user3.getId(), created.getId(), true);
+
+        assertThat(approved.getStatus()).isEqualTo(BookingStatus.APPROVED);
+        Booking stored = bookingRepository.findById(created.getId()).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(BookingStatus.APPROVED);
+        assertThat(stored.getVersion()).isEqualTo(1L);
+        assertThrows(ValidationException.class,
+                () -> bookingController.setApproveToBooking(user3.getId(), created.getId(), true));
+        assertThrows(ValidationException.class,
+                () -> bookingController.setApproveToBooking(user3.getId(), created.getId(), false));
+    }
 }
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Прежний вариант выборки бронирований букера через Page (страница + count) для сравнения в бенчмарке.
+ */
+public interface BookingPageRepository extends Repository<Booking, Long> {
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Page<Booking> findAllByBookerId(Long bookerId, Pageable pageable);
+}
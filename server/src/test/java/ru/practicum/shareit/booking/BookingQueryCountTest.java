@@ -0,0 +1,148 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingDtoToResponse;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+        properties = {"db.name=test", "spring.jpa.properties.hibernate.generate_statistics=true"},
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingQueryCountTest {
+
+    private final BookingController bookingController;
+
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final BookingRepository bookingRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private User owner;
+
+    private User booker;
+
+    private Booking booking;
+
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        owner = userRepository.save(new User(null, "Alla", "alla@gmail.com"));
+        booker = userRepository.save(new User(null, "Olga", "olga@gmail.com"));
+
+        for (int i = 1; i <= 3; i++) {
+            Item item = new Item(null, "Вещь " + i, "Хорошая вещь " + i, true);
+            item.setOwner(owner);
+            item = itemRepository.save(item);
+
+            booking = bookingRepository.save(new Booking(null, Timestamp.valueOf(LocalDateTime.now().plusDays(i)),
+                    Timestamp.valueOf(LocalDateTime.now().plusDays(i + 1)), item, booker, BookingStatus.APPROVED));
+            bookings.add(booking);
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @DisplayName("Bookings of owner items are loaded together with items and bookers")
+    @Test
+    public void givenOwnerBookings_whenGetBookingsAllOrByStateForOwner_thenNoLazyLoadQueries() {
+
+        List<BookingDtoToResponse> respList = bookingController.getBookingsAllOrByStateForOwner(
+                owner.getId(), BookingState.ALL, 0, 5);
+
+        assertThat(respList.size()).isEqualTo(3);
+        assertThat(respList.get(0).getItem().getName()).isEqualTo("Вещь 3");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @DisplayName("Page smaller than the result set does not trigger a count query")
+    @Test
+    public void givenMoreBookingsThanSize_whenGetBookingsAllOrByStateForOwner_thenNoCountQuery() {
+
+        List<BookingDtoToResponse> respList = bookingController.getBookingsAllOrByStateForOwner(
+                owner.getId(), BookingState.ALL, 0, 2);
+
+        assertThat(respList.size()).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @DisplayName("Bookings of booker are loaded together with items and bookers")
+    @Test
+    public void givenBookerBookings_whenGetBookingsAllOrByState_thenNoLazyLoadQueries() {
+
+        List<BookingDtoToResponse> respList = bookingController.getBookingsAllOrByState(
+                booker.getId(), BookingState.FUTURE, 0, 5);
+
+        assertThat(respList.size()).isEqualTo(3);
+        assertThat(respList.get(2).getItem().getName()).isEqualTo("Вещь 1");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @DisplayName("Booking is checked for owner and booker by one query")
+    @Test
+    public void givenOwnerOrBooker_whenGetBooking_thenOneQuery() {
+
+        BookingDtoToResponse forOwner = bookingController.getBooking(owner.getId(), booking.getId());
+        BookingDtoToResponse forBooker = bookingController.getBooking(booker.getId(), booking.getId());
+
+        assertThat(forOwner.getItem().getName()).isEqualTo("Вещь 3");
+        assertThat(forBooker.getBooker().getId()).isEqualTo(booker.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @DisplayName("Approval loads booking and item by one query and writes the status by one update")
+    @Test
+    public void givenOwner_whenSetApproveToBooking_thenSelectAndUpdate() {
+        booking.setStatus(BookingStatus.WAITING);
+        bookingRepository.save(booking);
+        statistics.clear();
+
+        BookingDtoToResponse resp = bookingController.setApproveToBooking(owner.getId(), booking.getId(), false);
+
+        assertThat(resp.getStatus()).isEqualTo(BookingStatus.REJECTED);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @DisplayName("Batch approval loads all bookings by one query and writes statuses by one update per status")
+    @Test
+    public void givenOwner_whenSetApproveToBookings_thenSelectAndUpdatePerStatus() {
+        bookings.forEach(b -> b.setStatus(BookingStatus.WAITING));
+        bookingRepository.saveAll(bookings);
+        statistics.clear();
+
+        List<BookingApprovalResultDto> results = bookingController.setApproveToBookings(owner.getId(), List.of(
+                new BookingApprovalDto(bookings.get(0).getId(), true),
+                new BookingApprovalDto(bookings.get(1).getId(), true),
+                new BookingApprovalDto(bookings.get(2).getId(), false)));
+
+        assertThat(results).extracting(BookingApprovalResultDto::getStatus).containsExactly(
+                BookingStatus.APPROVED, BookingStatus.APPROVED, BookingStatus.REJECTED);
+        assertThat(results).extracting(BookingApprovalResultDto::getError).containsOnlyNulls();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+}
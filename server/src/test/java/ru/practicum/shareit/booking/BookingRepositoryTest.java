@@ -26,17 +26,18 @@ class BookingRepositoryTest {
 
     @Test
     void findAllByItemIdAndBookerIdAndEndBefore() {
+        User user = new User();
+        user.setName("Anton");
+        user.setEmail("some@mail.ru");
+        userRepository.save(user);
+
         Item item = new Item();
         item.setAvailable(true);
         item.setName("some item");
         item.setDescription("some description");
+        item.setOwner(user);
         itemRepository.save(item);
 
-        User user = new User();
-        user.setName("Anton");
-        user.setEmail("some@mail.ru");
-        userRepository.save(user);
-
         Booking booking = new Booking();
         booking.setBooker(user);
         booking.setItem(item);
@@ -57,4 +58,50 @@ class BookingRepositoryTest {
                 item.getId(), user.getId(), Timestamp.valueOf(LocalDateTime.now()), BookingStatus.APPROVED);
         assertEquals(1, bookingList.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findLastAndNextBookingsOfItems() {
+        User owner = new User();
+        owner.setName("Anna");
+        owner.setEmail("anna@mail.ru");
+        userRepository.save(owner);
+
+        User booker = new User();
+        booker.setName("Anton");
+        booker.setEmail("anton@mail.ru");
+        userRepository.save(booker);
+
+        Item item = new Item(null, "some item", "some description", true);
+        item.setOwner(owner);
+        itemRepository.save(item);
+
+        Item otherItem = new Item(null, "other item", "other description", true);
+        otherItem.setOwner(owner);
+        itemRepository.save(otherItem);
+
+        LocalDateTime now = LocalDateTime.now();
+        bookingRepository.save(new Booking(null, Timestamp.valueOf(now.minusDays(10)),
+                Timestamp.valueOf(now.minusDays(9)), item, booker, BookingStatus.APPROVED));
+        Booking last = bookingRepository.save(new Booking(null, Timestamp.valueOf(now.minusDays(5)),
+                Timestamp.valueOf(now.minusDays(4)), item, booker, BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, Timestamp.valueOf(now.minusDays(2)),
+                Timestamp.valueOf(now.minusDays(1)), item, booker, BookingStatus.REJECTED));
+        Booking next = bookingRepository.save(new Booking(null, Timestamp.valueOf(now.plusDays(1)),
+                Timestamp.valueOf(now.plusDays(2)), item, booker, BookingStatus.WAITING));
+        bookingRepository.save(new Booking(null, Timestamp.valueOf(now.plusDays(5)),
+                Timestamp.valueOf(now.plusDays(6)), item, booker, BookingStatus.APPROVED));
+        Booking otherNext = bookingRepository.save(new Booking(null, Timestamp.valueOf(now.plusDays(3)),
+                Timestamp.valueOf(now.plusDays(4)), otherItem, booker, BookingStatus.WAITING));
+
+        List<Long> itemIds = List.of(item.getId(), otherItem.getId());
+        Timestamp currentTime = Timestamp.valueOf(now);
+
+        List<Booking> lastBookings = bookingRepository.findLastBookingsOfItems(
+                itemIds, BookingStatus.APPROVED, currentTime);
+        List<Booking> nextBookings = bookingRepository.findNextBookingsOfItems(itemIds, currentTime);
+
+        assertEquals(List.of(last), lastBookings);
+        assertEquals(2, nextBookings.size());
+        assertTrue(nextBookings.containsAll(List.of(next, otherNext)));
+    }
+}
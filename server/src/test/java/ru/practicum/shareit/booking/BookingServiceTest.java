@@ -8,27 +8,33 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.calendar.BookingCalendar;
 import ru.practicum.shareit.booking.dto.*;
 import ru.practicum.shareit.exceptions.UnknownStateException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemViewCache;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import javax.validation.ValidationException;
+import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -46,6 +52,12 @@ public class BookingServiceTest {
     @Mock
     private BookingMapper bookingMapper;
 
+    @Mock
+    private ItemViewCache itemViewCache;
+
+    @Mock
+    private BookingCalendar bookingCalendar;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -121,8 +133,74 @@ public class BookingServiceTest {
                 .findById(any());
         verify(bookingRepository, times(1))
                 .save(any());
+        verify(bookingCalendar).reserve(booking1);
+
+
+    }
+
+    @DisplayName("JUnit test for createBooking method (overlap rejected by the database)")
+    @Test
+    public void givenOverlapConstraintViolated_whenCreateBooking_thenThrowValidationException() {
+        given(itemRepository.findById(anyLong())).willReturn(Optional.of(item1));
+        given(userRepository.findById(anyLong())).willReturn(Optional.of(user2));
+        given(bookingMapper.fromDto(requestDto1)).willReturn(booking1);
+        given(bookingRepository.save(booking1)).willThrow(new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLException("ERROR: conflicting key value violates exclusion constraint \"bookings_no_overlap\"")));
+
+        ValidationException e = assertThrows(ValidationException.class,
+                () -> bookingService.createBooking(user2.getId(), requestDto1));
+
+        assertThat(e.getMessage()).isEqualTo("Вещь 1 уже забронирована на пересекающиеся даты");
+        verify(itemRepository, times(1))
+                .findById(any());
+        verify(userRepository, times(1))
+                .findById(any());
+        verify(bookingRepository, times(1))
+                .save(any());
+    }
+
+    @DisplayName("JUnit test for createBooking method (other constraint violated)")
+    @Test
+    public void givenOtherConstraintViolated_whenCreateBooking_thenRethrowException() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("could not execute statement",
+                new SQLException("ERROR: insert or update on table \"bookings\" violates foreign key constraint " +
+                        "\"bookings_booker_id_fkey\""));
+        given(itemRepository.findById(anyLong())).willReturn(Optional.of(item1));
+        given(userRepository.findById(anyLong())).willReturn(Optional.of(user2));
+        given(bookingMapper.fromDto(requestDto1)).willReturn(booking1);
+        given(bookingRepository.save(booking1)).willThrow(violation);
+
+        DataIntegrityViolationException e = assertThrows(DataIntegrityViolationException.class,
+                () -> bookingService.createBooking(user2.getId(), requestDto1));
+
+        assertThat(e).isSameAs(violation);
+        verify(itemRepository, times(1))
+                .findById(any());
+        verify(userRepository, times(1))
+                .findById(any());
+        verify(bookingRepository, times(1))
+                .save(any());
+    }
 
+    @DisplayName("JUnit test for createBooking method (negative scenario)")
+    @Test
+    public void givenOverlappingBooking_whenCreateItem_thenThrowException() {
+        booking1 = new Booking(1L, Timestamp.valueOf("2022-11-12 10:09:00"),
+                Timestamp.valueOf("2022-12-13 10:09:00"), null, null, null);
+        given(itemRepository.findById(anyLong())).willReturn(Optional.of(item1));
+        given(userRepository.findById(anyLong())).willReturn(Optional.of(user2));
+        given(bookingMapper.fromDto(requestDto1)).willReturn(booking1);
+        willThrow(ValidationException.class).given(bookingCalendar).reserve(booking1);
+
+        assertThrows(ValidationException.class, () -> bookingService.createBooking(user2.getId(), requestDto1));
 
+        verify(itemRepository, times(1))
+                .findById(any());
+        verify(userRepository, times(1))
+                .findById(any());
+        verify(bookingRepository, times(0))
+                .save(any());
     }
 
 
@@ -203,46 +281,35 @@ public class BookingServiceTest {
     @Test
     public void givenUserIdAndBookingIdAndApproved_setApproveToBooking_thenReturnBookingDtoWithApproved() {
 
-        Booking savedBooking = new Booking(1L, Timestamp.valueOf("2022-11-12 10:09:00"),
-                Timestamp.valueOf("2022-12-13 10:09:00"), item1, user2, BookingStatus.APPROVED);
-
-        given(userRepository.findById(anyLong())).willReturn(Optional.of(user1));
-        given(bookingRepository.findById(anyLong())).willReturn(Optional.of(booking1));
-        given(itemRepository.findById(anyLong())).willReturn(Optional.of(item1));
-        given(bookingRepository.save(booking1)).willReturn(savedBooking);
+        given(bookingRepository.findWithItemById(anyLong())).willReturn(Optional.of(booking1));
+        given(bookingRepository.updateStatus(booking1.getId(), BookingStatus.WAITING, BookingStatus.APPROVED))
+                .willReturn(1);
         responseDto1.setStatus(BookingStatus.APPROVED);
         given(bookingMapper.toDto(booking1)).willReturn(responseDto1);
 
         BookingDtoToResponse resp = bookingService.setApproveToBooking(user1.getId(), booking1.getId(), true);
 
         assertThat(resp.getStatus()).isEqualTo(BookingStatus.APPROVED);
+        assertThat(booking1.getStatus()).isEqualTo(BookingStatus.APPROVED);
 
-        verify(userRepository, times(1))
-                .findById(any());
         verify(bookingRepository, times(1))
-                .findById(any());
-        verify(itemRepository, times(1))
-                .findById(any());
+                .findWithItemById(any());
         verify(bookingRepository, times(1))
-                .save(any());
+                .updateStatus(any(), any(), any());
+        verify(itemViewCache).evict(item1.getId());
 
     }
 
     @DisplayName("JUnit test for setApproveToBooking method (negative scenario)")
     @Test
     public void givenUserIdAndWrongBookingId_setApproveToBooking_thenThrowException() {
-        given(userRepository.findById(anyLong())).willReturn(Optional.of(user1));
-        given(bookingRepository.findById(-1L)).willThrow(IllegalArgumentException.class);
+        given(bookingRepository.findWithItemById(-1L)).willReturn(Optional.empty());
 
         assertThrows(IllegalArgumentException.class, () -> bookingService.setApproveToBooking(
                 user1.getId(), -1L, true));
 
-        verify(userRepository, times(1))
-                .findById(any());
         verify(bookingRepository, times(1))
-                .findById(any());
-        verify(itemRepository, times(0))
-                .findById(any());
+                .findWithItemById(any());
         verify(bookingRepository, times(0))
                 .save(any());
 
@@ -251,17 +318,13 @@ public class BookingServiceTest {
     @DisplayName("JUnit test for setApproveToBooking method (negative scenario)")
     @Test
     public void givenWrongUserId_setApproveToBooking_thenThrowException() {
-        given(userRepository.findById(anyLong())).willThrow(IllegalArgumentException.class);
+        given(bookingRepository.findWithItemById(anyLong())).willReturn(Optional.of(booking1));
 
         assertThrows(IllegalArgumentException.class, () -> bookingService.setApproveToBooking(
                 -1L, 1L, true));
 
-        verify(userRepository, times(1))
-                .findById(any());
-        verify(bookingRepository, times(0))
-                .findById(any());
-        verify(itemRepository, times(0))
-                .findById(any());
+        verify(bookingRepository, times(1))
+                .findWithItemById(any());
         verify(bookingRepository, times(0))
                 .save(any());
 
@@ -269,20 +332,15 @@ public class BookingServiceTest {
 
     @DisplayName("JUnit test for setApproveToBooking method (negative scenario)")
     @Test
-    public void givenItemIdAndWrong_setApproveToBooking_thenThrowException() {
-        given(userRepository.findById(anyLong())).willReturn(Optional.of(user1));
-        given(bookingRepository.findById(anyLong())).willReturn(Optional.of(booking1));
-        given(itemRepository.findById(anyLong())).willThrow(IllegalArgumentException.class);
+    public void givenOwnerNotEqualUser_setApproveToBooking_thenThrowException() {
+
+        given(bookingRepository.findWithItemById(anyLong())).willReturn(Optional.of(booking1));
 
         assertThrows(IllegalArgumentException.class, () -> bookingService.setApproveToBooking(
-                user1.getId(), 1L, true));
+                user2.getId(), booking1.getId(), true));
 
-        verify(userRepository, times(1))
-                .findById(any());
         verify(bookingRepository, times(1))
-                .findById(any());
-        verify(itemRepository, times(1))
-                .findById(any());
+                .findWithItemById(any());
         verify(bookingRepository, times(0))
                 .save(any());
 
@@ -290,21 +348,16 @@ public class BookingServiceTest {
 
     @DisplayName("JUnit test for setApproveToBooking method (negative scenario)")
     @Test
-    public void givenOwnerNotEqualUser_setApproveToBooking_thenThrowException() {
+    public void givenBookingWithApprovedStatus_setApproveToBooking_thenThrowException() {
+        booking1.setStatus(BookingStatus.APPROVED);
 
-        given(userRepository.findById(anyLong())).willReturn(Optional.of(user2));
-        given(bookingRepository.findById(anyLong())).willReturn(Optional.of(booking1));
-        given(itemRepository.findById(anyLong())).willReturn(Optional.of(item1));
+        given(bookingRepository.findWithItemById(anyLong())).willReturn(Optional.of(booking1));
 
-        assertThrows(IllegalArgumentException.class, () -> bookingService.setApproveToBooking(
-                user2.getId(), booking1.getId(), true));
+        assertThrows(ValidationException.class, () -> bookingService.setApproveToBooking(
+                user1.getId(), booking1.getId(), true));
 
-        verify(userRepository, times(1))
-                .findById(any());
         verify(bookingRepository, times(1))
-                .findById(any());
-        verify(itemRepository, times(1))
-                .findById(any());
+                .findWithItemById(any());
         verify(bookingRepository, times(0))
                 .save(any());
 
@@ -312,38 +365,28 @@ public class BookingServiceTest {
 
     @DisplayName("JUnit test for setApproveToBooking method (negative scenario)")
     @Test
-    public void givenBookingWithApprovedStatus_setApproveToBooking_thenThrowException() {
-        booking1.setStatus(BookingStatus.APPROVED);
-
-        given(userRepository.findById(anyLong())).willReturn(Optional.of(user1));
-        given(bookingRepository.findById(anyLong())).willReturn(Optional.of(booking1));
-        given(itemRepository.findById(anyLong())).willReturn(Optional.of(item1));
+    public void givenStatusChangedConcurrently_setApproveToBooking_thenThrowException() {
+        given(bookingRepository.findWithItemById(anyLong())).willReturn(Optional.of(booking1));
+        given(bookingRepository.updateStatus(booking1.getId(), BookingStatus.WAITING, BookingStatus.APPROVED))
+                .willReturn(0);
 
         assertThrows(ValidationException.class, () -> bookingService.setApproveToBooking(
-                user2.getId(), booking1.getId(), true));
+                user1.getId(), booking1.getId(), true));
 
-        verify(userRepository, times(1))
-                .findById(any());
         verify(bookingRepository, times(1))
-                .findById(any());
-        verify(itemRepository, times(1))
-                .findById(any());
-        verify(bookingRepository, times(0))
-                .save(any());
-
+                .findWithItemById(any());
+        verify(bookingRepository, times(1))
+                .updateStatus(any(), any(), any());
+        verifyNoInteractions(itemViewCache);
     }
 
     @DisplayName("JUnit test for setApproveToBooking method (negative scenario)")
     @Test
     public void givenBookingWithApprovedFalse_setApproveToBooking_thenThrowException() {
 
-        Booking savedBooking = new Booking(1L, Timestamp.valueOf("2022-11-12 10:09:00"),
-                Timestamp.valueOf("2022-12-13 10:09:00"), item1, user2, BookingStatus.REJECTED);
-
-        given(userRepository.findById(anyLong())).willReturn(Optional.of(user1));
-        given(bookingRepository.findById(anyLong())).willReturn(Optional.of(booking1));
-        given(itemRepository.findById(anyLong())).willReturn(Optional.of(item1));
-        given(bookingRepository.save(booking1)).willReturn(savedBooking);
+        given(bookingRepository.findWithItemById(anyLong())).willReturn(Optional.of(booking1));
+        given(bookingRepository.updateStatus(booking1.getId(), BookingStatus.WAITING, BookingStatus.REJECTED))
+                .willReturn(1);
         responseDto1.setStatus(BookingStatus.REJECTED);
         given(bookingMapper.toDto(booking1)).willReturn(responseDto1);
 
@@ -351,23 +394,86 @@ public class BookingServiceTest {
 
         assertThat(resp.getStatus()).isEqualTo(BookingStatus.REJECTED);
 
-        verify(userRepository, times(1))
-                .findById(any());
         verify(bookingRepository, times(1))
-                .findById(any());
-        verify(itemRepository, times(1))
-                .findById(any());
+                .findWithItemById(any());
         verify(bookingRepository, times(1))
-                .save(any());
+                .updateStatus(any(), any(), any());
+        verify(bookingCalendar).release(booking1);
+
+    }
+
+    @DisplayName("JUnit test for setApproveToBookings method")
+    @Test
+    public void givenMixedApprovals_setApproveToBookings_thenReturnResultPerId() {
+        Booking booking2 = new Booking(2L, Timestamp.valueOf("2023-01-12 10:09:00"),
+                Timestamp.valueOf("2023-01-13 10:09:00"), item1, user2, BookingStatus.WAITING);
+        Booking approvedBooking = new Booking(3L, Timestamp.valueOf("2023-02-12 10:09:00"),
+                Timestamp.valueOf("2023-02-13 10:09:00"), item1, user2, BookingStatus.APPROVED);
+        Item foreignItem = new Item(2L, "Дрель", "Дрель для всего", true);
+        foreignItem.setOwner(user2);
+        Booking foreignBooking = new Booking(4L, Timestamp.valueOf("2023-03-12 10:09:00"),
+                Timestamp.valueOf("2023-03-13 10:09:00"), foreignItem, user1, BookingStatus.WAITING);
+
+        given(bookingRepository.findAllWithItemByIdInOrderById(Set.of(1L, 2L, 3L, 4L, 5L)))
+                .willReturn(List.of(booking1, booking2, approvedBooking, foreignBooking));
+        given(bookingRepository.updateStatusIn(Set.of(1L), BookingStatus.WAITING, BookingStatus.APPROVED))
+                .willReturn(1);
+        given(bookingRepository.updateStatusIn(Set.of(2L), BookingStatus.WAITING, BookingStatus.REJECTED))
+                .willReturn(1);
+
+        List<BookingApprovalResultDto> results = bookingService.setApproveToBookings(user1.getId(), List.of(
+                new BookingApprovalDto(1L, true),
+                new BookingApprovalDto(2L, false),
+                new BookingApprovalDto(3L, false),
+                new BookingApprovalDto(4L, true),
+                new BookingApprovalDto(5L, true)));
+
+        assertThat(results).extracting(BookingApprovalResultDto::getBookingId).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(results).extracting(BookingApprovalResultDto::getStatus).containsExactly(
+                BookingStatus.APPROVED, BookingStatus.REJECTED, BookingStatus.APPROVED, null, null);
+        assertThat(results.get(0).getError()).isNull();
+        assertThat(results.get(1).getError()).isNull();
+        assertThat(results.get(2).getError()).isNotNull();
+        assertThat(results.get(3).getError()).isNotNull();
+        assertThat(results.get(4).getError()).isNotNull();
+        assertThat(results).extracting(BookingApprovalResultDto::getItemId).containsExactly(
+                item1.getId(), item1.getId(), null, null, null);
+        assertThat(booking1.getStatus()).isEqualTo(BookingStatus.APPROVED);
+
+        verify(bookingRepository, times(1))
+                .findAllWithItemByIdInOrderById(any());
+        verify(bookingRepository, times(2))
+                .updateStatusIn(any(), any(), any());
+        verify(bookingCalendar).release(booking2);
+        verify(itemViewCache, times(2)).evict(item1.getId());
+    }
 
+    @DisplayName("JUnit test for setApproveToBookings method (negative scenario)")
+    @Test
+    public void givenRepeatedBookingId_setApproveToBookings_thenOnlyFirstApplied() {
+        given(bookingRepository.findAllWithItemByIdInOrderById(Set.of(1L))).willReturn(List.of(booking1));
+        given(bookingRepository.updateStatusIn(Set.of(1L), BookingStatus.WAITING, BookingStatus.REJECTED))
+                .willReturn(1);
+
+        List<BookingApprovalResultDto> results = bookingService.setApproveToBookings(user1.getId(),
+                List.of(new BookingApprovalDto(1L, false), new BookingApprovalDto(1L, true)));
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).getStatus()).isEqualTo(BookingStatus.REJECTED);
+        assertThat(results.get(0).getError()).isNull();
+        assertThat(results.get(1).getError()).isNotNull();
+
+        verify(bookingRepository, times(1))
+                .findAllWithItemByIdInOrderById(any());
+        verify(bookingRepository, times(1))
+                .updateStatusIn(any(), any(), any());
+        verify(bookingCalendar).release(booking1);
     }
 
     @DisplayName("JUnit test for getBooking method")
     @Test
     public void givenOwnerIdAhdBookingId_getBooking_thenReturnBookingDto() {
-        given(bookingRepository.findById(anyLong())).willReturn(Optional.of(booking1));
-        given(userRepository.findById(anyLong())).willReturn(Optional.of(user1));
-        given(itemRepository.findById(anyLong())).willReturn(Optional.of(item1));
+        given(bookingRepository.findWithItemById(anyLong())).willReturn(Optional.of(booking1));
         given(bookingMapper.toDto(booking1)).willReturn(responseDto1);
 
         BookingDtoToResponse resp = bookingService.getBooking(user1.getId(), item1.getId());
@@ -375,86 +481,49 @@ public class BookingServiceTest {
         assertThat(resp).isNotNull();
         assertThat(resp).isEqualTo(responseDto1);
 
-        verify(userRepository, times(1))
-                .findById(any());
         verify(bookingRepository, times(1))
-                .findById(any());
-        verify(itemRepository, times(1))
-                .findById(any());
+                .findWithItemById(any());
 
     }
 
-    @DisplayName("JUnit test for getBooking method (negative scenario)")
+    @DisplayName("JUnit test for getBooking method")
     @Test
-    public void givenUserIsNotOwnerOrBooker_getBooking_thenThrowException() {
-        User user3 = new User(3L, "Alla", "alla@gmail.com");
-        given(bookingRepository.findById(anyLong())).willReturn(Optional.of(booking1));
-        given(userRepository.findById(anyLong())).willReturn(Optional.of(user3));
-        given(itemRepository.findById(anyLong())).willReturn(Optional.of(item1));
-
-        assertThrows(IllegalArgumentException.class, () -> bookingService.getBooking(
-                user3.getId(), booking1.getId()));
-
-        verify(userRepository, times(1))
-                .findById(any());
-        verify(bookingRepository, times(1))
-                .findById(any());
-        verify(itemRepository, times(1))
-                .findById(any());
-    }
+    public void givenBookerIdAhdBookingId_getBooking_thenReturnBookingDto() {
+        given(bookingRepository.findWithItemById(anyLong())).willReturn(Optional.of(booking1));
+        given(bookingMapper.toDto(booking1)).willReturn(responseDto1);
 
-    @DisplayName("JUnit test for getBooking method (negative scenario)")
-    @Test
-    public void givenWrongItemId_getBooking_thenThrowException() {
-        User user3 = new User(3L, "Alla", "alla@gmail.com");
-        given(bookingRepository.findById(anyLong())).willReturn(Optional.of(booking1));
-        given(userRepository.findById(anyLong())).willReturn(Optional.of(user3));
-        given(itemRepository.findById(anyLong())).willThrow(IllegalArgumentException.class);
+        BookingDtoToResponse resp = bookingService.getBooking(user2.getId(), booking1.getId());
 
-        assertThrows(IllegalArgumentException.class, () -> bookingService.getBooking(
-                user3.getId(), booking1.getId()));
+        assertThat(resp).isEqualTo(responseDto1);
 
-        verify(userRepository, times(1))
-                .findById(any());
         verify(bookingRepository, times(1))
-                .findById(any());
-        verify(itemRepository, times(1))
-                .findById(any());
+                .findWithItemById(any());
     }
 
     @DisplayName("JUnit test for getBooking method (negative scenario)")
     @Test
-    public void givenWrongUserId_getBooking_thenThrowException() {
+    public void givenUserIsNotOwnerOrBooker_getBooking_thenThrowException() {
         User user3 = new User(3L, "Alla", "alla@gmail.com");
-        given(bookingRepository.findById(anyLong())).willReturn(Optional.of(booking1));
-        given(userRepository.findById(anyLong())).willThrow(IllegalArgumentException.class);
+        given(bookingRepository.findWithItemById(anyLong())).willReturn(Optional.of(booking1));
 
         assertThrows(IllegalArgumentException.class, () -> bookingService.getBooking(
                 user3.getId(), booking1.getId()));
 
-        verify(userRepository, times(1))
-                .findById(any());
         verify(bookingRepository, times(1))
-                .findById(any());
-        verify(itemRepository, times(0))
-                .findById(any());
+                .findWithItemById(any());
     }
 
     @DisplayName("JUnit test for getBooking method (negative scenario)")
     @Test
     public void givenWrongBookingId_getBooking_thenThrowException() {
         User user3 = new User(3L, "Alla", "alla@gmail.com");
-        given(bookingRepository.findById(anyLong())).willThrow(IllegalArgumentException.class);
+        given(bookingRepository.findWithItemById(anyLong())).willReturn(Optional.empty());
 
         assertThrows(IllegalArgumentException.class, () -> bookingService.getBooking(
                 user3.getId(), booking1.getId()));
 
         verify(bookingRepository, times(1))
-                .findById(any());
-        verify(userRepository, times(0))
-                .findById(any());
-        verify(itemRepository, times(0))
-                .findById(any());
+                .findWithItemById(any());
     }
 
     @DisplayName("JUnit test for getBookingsOfUserAllOrByState method")
@@ -463,10 +532,10 @@ public class BookingServiceTest {
         int from = 0;
         int size = 2;
 
-        Page<Booking> page = new PageImpl<>(List.of(booking1));
+        Slice<Booking> page = new SliceImpl<>(List.of(booking1));
 
         given(userRepository.existsById(anyLong())).willReturn(true);
-        given(bookingRepository.findAll(PageRequest.of(from,size, SORT))).willReturn(page);
+        given(bookingRepository.findAllByBookerId(user1.getId(), PageRequest.of(from,size, SORT))).willReturn(page);
         given(bookingMapper.toDto(booking1)).willReturn(responseDto1);
 
         List<BookingDtoToResponse> respList = bookingService.getBookingsOfUserAllOrByState(
@@ -476,7 +545,7 @@ public class BookingServiceTest {
         assertThat(respList.get(0)).isEqualTo(responseDto1);
 
         verify(bookingRepository, times(1))
-                .findAll(PageRequest.of(from,size, SORT));
+                .findAllByBookerId(user1.getId(), PageRequest.of(from,size, SORT));
         verify(userRepository, times(1))
                 .existsById(anyLong());
 
@@ -488,7 +557,7 @@ public class BookingServiceTest {
         int from = 0;
         int size = 2;
 
-        Page<Booking> page = new PageImpl<>(List.of(booking1));
+        Slice<Booking> page = new SliceImpl<>(List.of(booking1));
 
         given(userRepository.existsById(anyLong())).willReturn(true);
         given(bookingRepository.findAllByBookerIdAndEndBefore(
@@ -515,7 +584,7 @@ public class BookingServiceTest {
         int from = 0;
         int size = 2;
 
-        Page<Booking> page = new PageImpl<>(List.of(booking1));
+        Slice<Booking> page = new SliceImpl<>(List.of(booking1));
 
         given(userRepository.existsById(anyLong())).willReturn(true);
         given(bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfter(
@@ -542,7 +611,7 @@ public class BookingServiceTest {
         int from = 0;
         int size = 2;
 
-        Page<Booking> page = new PageImpl<>(List.of(booking1));
+        Slice<Booking> page = new SliceImpl<>(List.of(booking1));
 
         given(userRepository.existsById(anyLong())).willReturn(true);
         given(bookingRepository.findAllByBookerIdAndStartAfter(
@@ -569,7 +638,7 @@ public class BookingServiceTest {
         int from = 0;
         int size = 2;
 
-        Page<Booking> page = new PageImpl<>(List.of(booking1));
+        Slice<Booking> page = new SliceImpl<>(List.of(booking1));
 
         given(userRepository.existsById(anyLong())).willReturn(true);
         given(bookingRepository.findAllByBookerIdAndStatus(
@@ -596,7 +665,7 @@ public class BookingServiceTest {
         int from = 0;
         int size = 2;
 
-        Page<Booking> page = new PageImpl<>(List.of(booking1));
+        Slice<Booking> page = new SliceImpl<>(List.of(booking1));
 
         given(userRepository.existsById(anyLong())).willReturn(true);
         given(bookingRepository.findAllByBookerIdAndStatus(
@@ -632,7 +701,7 @@ public class BookingServiceTest {
                 .existsById(anyLong());
 
         verify(bookingRepository, times(0))
-                .findAll(PageRequest.of(from,size, SORT));
+                .findAllByBookerId(any(), any());
         verify(bookingRepository, times(0))
                 .findAllByBookerIdAndEndBefore(any(), any(), any());
         verify(bookingRepository, times(0))
@@ -656,7 +725,7 @@ public class BookingServiceTest {
                 user1.getId(), BookingState.ALL, from, size));
 
         verify(bookingRepository, times(0))
-                .findAll(PageRequest.of(from,size, SORT));
+                .findAllByBookerId(any(), any());
         verify(userRepository, times(1))
                 .existsById(anyLong());
 
@@ -681,7 +750,7 @@ public class BookingServiceTest {
         Booking booking3 = new Booking(3L, Timestamp.valueOf("2023-02-17 10:09:00"),
                 Timestamp.valueOf("2023-03-30 10:09:00"), item3, user2, BookingStatus.APPROVED);
 
-        Page<Booking> page = new PageImpl<>(List.of(booking2, booking3));
+        Slice<Booking> page = new SliceImpl<>(List.of(booking2, booking3));
 
         BookingDtoFromRequest requestDto2 = new BookingDtoFromRequest();
         requestDto2.setItemId(2L);
@@ -754,7 +823,7 @@ public class BookingServiceTest {
         int from = 0;
         int size = 2;
 
-        Page<Booking> page = new PageImpl<>(List.of(booking1));
+        Slice<Booking> page = new SliceImpl<>(List.of(booking1));
 
         given(userRepository.existsById(anyLong())).willReturn(true);
         given(bookingRepository.findAllByItemOwnerId(
@@ -781,7 +850,7 @@ public class BookingServiceTest {
         int from = 0;
         int size = 2;
 
-        Page<Booking> page = new PageImpl<>(List.of(booking1));
+        Slice<Booking> page = new SliceImpl<>(List.of(booking1));
 
         given(userRepository.existsById(anyLong())).willReturn(true);
         given(bookingRepository.findAllByItemOwnerIdAndEndBefore(
@@ -808,7 +877,7 @@ public class BookingServiceTest {
         int from = 0;
         int size = 2;
 
-        Page<Booking> page = new PageImpl<>(List.of(booking1));
+        Slice<Booking> page = new SliceImpl<>(List.of(booking1));
 
         given(userRepository.existsById(anyLong())).willReturn(true);
         given(bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfter(any(),
@@ -835,7 +904,7 @@ public class BookingServiceTest {
         int from = 0;
         int size = 2;
 
-        Page<Booking> page = new PageImpl<>(List.of(booking1));
+        Slice<Booking> page = new SliceImpl<>(List.of(booking1));
 
         given(userRepository.existsById(anyLong())).willReturn(true);
         given(bookingRepository.findAllByItemOwnerIdAndStartAfter(any(),
@@ -862,7 +931,7 @@ public class BookingServiceTest {
         int from = 0;
         int size = 2;
 
-        Page<Booking> page = new PageImpl<>(List.of(booking1));
+        Slice<Booking> page = new SliceImpl<>(List.of(booking1));
 
         given(userRepository.existsById(anyLong())).willReturn(true);
         given(bookingRepository.findAllByItemOwnerIdAndStatus(any(),
@@ -889,7 +958,7 @@ public class BookingServiceTest {
         int from = 0;
         int size = 2;
 
-        Page<Booking> page = new PageImpl<>(List.of(booking1));
+        Slice<Booking> page = new SliceImpl<>(List.of(booking1));
 
         given(userRepository.existsById(anyLong())).willReturn(true);
         given(bookingRepository.findAllByItemOwnerIdAndStatus(any(),
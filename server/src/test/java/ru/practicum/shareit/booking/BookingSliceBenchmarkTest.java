@@ -0,0 +1,83 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Сравнение выборки страницы бронирований через Slice и через Page ({@link BookingPageRepository}, страница + count).
+ * Результат пишется в лог, тест ничего не утверждает о времени.
+ * Запуск: mvn test -Dbenchmark=true -Dtest=BookingSliceBenchmarkTest
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(
+        properties = "db.name=test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingSliceBenchmarkTest {
+
+    private static final int BOOKINGS = 1_000_000;
+    private static final int BOOKERS = 10;
+    private static final int ITEMS = 1_000;
+    private static final int ITERATIONS = 200;
+    private static final Sort SORT = Sort.by(Sort.Direction.DESC, "start");
+
+    private final BookingRepository bookingRepository;
+    private final BookingPageRepository bookingPageRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void seed() {
+        if (jdbcTemplate.queryForObject("select count(*) from bookings", Long.class) > 0) {
+            return;
+        }
+        jdbcTemplate.update("insert into users (name, email) " +
+                "select 'user' || x, 'user' || x || '@mail.ru' from system_range(1, ?)", BOOKERS + 1);
+        jdbcTemplate.update("insert into items (name, description, is_available, owner_id) " +
+                "select 'item' || x, 'description' || x, true, ? from system_range(1, ?)", BOOKERS + 1, ITEMS);
+        jdbcTemplate.update("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+                "select dateadd('MINUTE', x, timestamp '2020-01-01 00:00:00'), " +
+                "dateadd('MINUTE', x + 60, timestamp '2020-01-01 00:00:00'), " +
+                "mod(x, ?) + 1, mod(x, ?) + 1, 'APPROVED' from system_range(1, ?)", ITEMS, BOOKERS, BOOKINGS);
+    }
+
+    @DisplayName("Page of bookings of a booker: Slice repository method versus Page repository method")
+    @Test
+    public void sliceVersusPage() {
+        PageRequest pageRequest = PageRequest.of(5, 10, SORT);
+        assertThat(bookingPageRepository.findAllByBookerId(1L, pageRequest).getTotalElements())
+                .isEqualTo(BOOKINGS / BOOKERS);
+
+        long sliceNanos = measure(() -> bookingRepository.findAllByBookerId(1L, pageRequest));
+        long pageNanos = measure(() -> bookingPageRepository.findAllByBookerId(1L, pageRequest));
+
+        log.info("{} бронирований, {} итераций: slice {} мс, page {} мс", BOOKINGS, ITERATIONS,
+                TimeUnit.NANOSECONDS.toMillis(sliceNanos), TimeUnit.NANOSECONDS.toMillis(pageNanos));
+    }
+
+    private long measure(Runnable query) {
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            query.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            query.run();
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,165 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.calendar.BusyInterval;
+import ru.practicum.shareit.booking.calendar.InMemoryBookingCalendar;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.validation.ValidationException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class InMemoryBookingCalendarTest {
+
+    private BookingRepository bookingRepository;
+
+    private InMemoryBookingCalendar bookingCalendar;
+
+    private Item item;
+
+    @BeforeEach
+    public void setUp() {
+        item = new Item(1L, "Дрель", "Дрель для всего", true);
+        bookingRepository = mock(BookingRepository.class);
+        given(bookingRepository.findAllByItemIdAndStatusIn(anyLong(), any()))
+                .willReturn(Collections.emptyList());
+        given(bookingRepository.findAllByItemIdAndStatusIn(eq(1L), any()))
+                .willReturn(List.of(booking("2023-01-10 10:00:00", "2023-01-20 10:00:00")));
+        bookingCalendar = new InMemoryBookingCalendar(bookingRepository);
+    }
+
+    @DisplayName("JUnit test for overlap with a booking loaded from the database")
+    @Test
+    public void givenOverlappingDates_whenReserve_thenThrowException() {
+        assertThrows(ValidationException.class,
+                () -> bookingCalendar.reserve(booking("2023-01-15 10:00:00", "2023-01-25 10:00:00")));
+        assertThrows(ValidationException.class,
+                () -> bookingCalendar.reserve(booking("2023-01-05 10:00:00", "2023-01-11 10:00:00")));
+        assertThrows(ValidationException.class,
+                () -> bookingCalendar.reserve(booking("2023-01-01 10:00:00", "2023-01-30 10:00:00")));
+    }
+
+    @DisplayName("JUnit test for adjacent and other item bookings")
+    @Test
+    public void givenAdjacentDates_whenReserve_thenReserved() {
+        assertDoesNotThrow(() -> bookingCalendar.reserve(booking("2023-01-20 10:00:00", "2023-01-25 10:00:00")));
+        assertDoesNotThrow(() -> bookingCalendar.reserve(booking("2023-01-05 10:00:00", "2023-01-10 10:00:00")));
+
+        Item otherItem = new Item(2L, "Аккумулятор", "Аккумулятор для машины", true);
+        Booking otherItemBooking = booking("2023-01-15 10:00:00", "2023-01-16 10:00:00");
+        otherItemBooking.setItem(otherItem);
+        assertDoesNotThrow(() -> bookingCalendar.reserve(otherItemBooking));
+    }
+
+    @DisplayName("JUnit test for released booking dates")
+    @Test
+    public void givenReleasedBooking_whenReserve_thenReserved() {
+        assertThat(bookingCalendar.findBusy(item.getId(),
+                Timestamp.valueOf("2023-01-01 10:00:00"), Timestamp.valueOf("2023-02-01 10:00:00"))).hasSize(1);
+        bookingCalendar.release(booking("2023-01-10 10:00:00", "2023-01-20 10:00:00"));
+
+        assertDoesNotThrow(() -> bookingCalendar.reserve(booking("2023-01-15 10:00:00", "2023-01-25 10:00:00")));
+    }
+
+    @DisplayName("JUnit test for evicted items: other items keep their reservations")
+    @Test
+    public void givenEvictedItem_whenFindBusy_thenReloadedAndOtherItemsKept() {
+        Item otherItem = new Item(2L, "Пила", "Пила по дереву", true);
+        bookingCalendar.reserve(booking("2023-02-01 10:00:00", "2023-02-10 10:00:00"));
+        bookingCalendar.reserve(new Booking(null, Timestamp.valueOf("2023-02-01 10:00:00"),
+                Timestamp.valueOf("2023-02-10 10:00:00"), otherItem, null, BookingStatus.WAITING));
+
+        bookingCalendar.evict(List.of(item.getId()));
+
+        assertThat(bookingCalendar.findBusy(item.getId(),
+                Timestamp.valueOf("2023-01-01 10:00:00"), Timestamp.valueOf("2023-03-01 10:00:00"))).hasSize(1);
+        assertThrows(ValidationException.class, () -> bookingCalendar.reserve(new Booking(null,
+                Timestamp.valueOf("2023-02-05 10:00:00"), Timestamp.valueOf("2023-02-06 10:00:00"), otherItem, null,
+                BookingStatus.WAITING)));
+        verify(bookingRepository, times(2)).findAllByItemIdAndStatusIn(eq(item.getId()), any());
+        verify(bookingRepository, times(1)).findAllByItemIdAndStatusIn(eq(otherItem.getId()), any());
+    }
+
+    @DisplayName("JUnit test for concurrent overlapping reservations")
+    @Test
+    public void givenConcurrentOverlappingBookings_whenReserve_thenOnlyOneReserved() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                try {
+                    bookingCalendar.reserve(booking("2023-02-01 10:00:00", "2023-02-10 10:00:00"));
+                    return true;
+                } catch (ValidationException e) {
+                    return false;
+                }
+            }));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        long reserved = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                reserved++;
+            }
+        }
+        assertThat(reserved).isEqualTo(1);
+    }
+
+    private Booking booking(String start, String end) {
+        return new Booking(null, Timestamp.valueOf(start), Timestamp.valueOf(end), item, null, BookingStatus.WAITING);
+    }
+
+    @DisplayName("JUnit test for busy items: loaded items in memory, the rest by one query")
+    @Test
+    public void givenLoadedAndNotLoadedItems_whenFindBusyItems_thenOneQueryForNotLoaded() {
+        Timestamp from = Timestamp.valueOf("2023-01-15 10:00:00");
+        Timestamp to = Timestamp.valueOf("2023-01-16 10:00:00");
+        bookingCalendar.findBusy(item.getId(), from, to);
+        given(bookingRepository.findBusyItemIds(List.of(2L, 3L), BookingStatus.ACTIVE, to, from))
+                .willReturn(List.of(3L));
+
+        Set<Long> busy = bookingCalendar.findBusyItems(List.of(1L, 2L, 3L), from, to);
+
+        assertThat(busy).containsExactlyInAnyOrder(1L, 3L);
+        verify(bookingRepository, times(1)).findAllByItemIdAndStatusIn(anyLong(), any());
+        verify(bookingRepository, times(1)).findBusyItemIds(any(), any(), any(), any());
+    }
+
+    @DisplayName("JUnit test for busy intervals of an item in a period")
+    @Test
+    public void givenReservedBookings_whenFindBusy_thenReturnOverlappingIntervalsInOrder() {
+        bookingCalendar.reserve(booking("2023-01-25 10:00:00", "2023-01-28 10:00:00"));
+        bookingCalendar.reserve(booking("2023-02-05 10:00:00", "2023-02-07 10:00:00"));
+
+        List<BusyInterval> busy = bookingCalendar.findBusy(item.getId(),
+                Timestamp.valueOf("2023-01-15 10:00:00"), Timestamp.valueOf("2023-02-05 10:00:00"));
+
+        assertThat(busy).extracting(BusyInterval::getStart).containsExactly(
+                Timestamp.valueOf("2023-01-10 10:00:00"), Timestamp.valueOf("2023-01-25 10:00:00"));
+        assertThat(bookingCalendar.findBusy(item.getId(),
+                Timestamp.valueOf("2023-01-20 10:00:00"), Timestamp.valueOf("2023-01-25 10:00:00"))).isEmpty();
+    }
+}
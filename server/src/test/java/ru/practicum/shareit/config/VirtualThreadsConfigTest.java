@@ -0,0 +1,38 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(VirtualThreadsConfig.class);
+
+    @Test
+    void virtualThreadsAreDisabledByDefault() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(TomcatProtocolHandlerCustomizer.class));
+    }
+
+    @Test
+    void givenEnabledOnJava21_thenTomcatExecutorIsCustomized() {
+        assumeTrue(VirtualThreadsConfig.isSupported());
+
+        contextRunner
+                .withPropertyValues("shareit.virtual-threads.enabled=true")
+                .run(context -> assertThat(context).hasSingleBean(TomcatProtocolHandlerCustomizer.class));
+    }
+
+    @Test
+    void givenEnabledBeforeJava21_thenContextFailsWithClearMessage() {
+        assumeTrue(!VirtualThreadsConfig.isSupported());
+
+        contextRunner
+                .withPropertyValues("shareit.virtual-threads.enabled=true")
+                .run(context -> assertThat(context).getFailure()
+                        .hasRootCauseInstanceOf(NoSuchMethodException.class));
+    }
+}
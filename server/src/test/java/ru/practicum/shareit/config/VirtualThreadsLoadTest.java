@@ -0,0 +1,91 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.ShareItServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Пропускная способность сервера при большом числе одновременных запросов: пул Tomcat против виртуальных потоков.
+ * Запуск (Java 21+): mvn test -Dbenchmark=true -Dtest=VirtualThreadsLoadTest
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class VirtualThreadsLoadTest {
+
+    private static final int CONCURRENT_REQUESTS = 2_000;
+    private static final long BLOCKING_MILLIS = 100;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @DisplayName("Virtual threads serve blocking requests with higher throughput than the Tomcat pool")
+    @Test
+    public void virtualThreadsVersusPlatformThreads() throws Exception {
+        assumeTrue(VirtualThreadsConfig.isSupported(), "Нужна Java 21+");
+
+        double platformRps = measureThroughput(false);
+        double virtualRps = measureThroughput(true);
+
+        log.info("{} одновременных запросов по {} мс: пул Tomcat {} rps, виртуальные потоки {} rps",
+                CONCURRENT_REQUESTS, BLOCKING_MILLIS, Math.round(platformRps), Math.round(virtualRps));
+
+        assertThat(virtualRps).isGreaterThan(platformRps);
+    }
+
+    private double measureThroughput(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                ShareItServer.class, BlockingController.class)
+                .properties("server.port=0", "db.name=test",
+                        "shareit.virtual-threads.enabled=" + virtualThreads)
+                .run()) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/load/blocking");
+
+            sendConcurrently(uri, 100);
+            long start = System.nanoTime();
+            sendConcurrently(uri, CONCURRENT_REQUESTS);
+            long elapsed = System.nanoTime() - start;
+
+            return CONCURRENT_REQUESTS / (elapsed / (double) TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    private void sendConcurrently(URI uri, int requests) {
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        responses.forEach(response -> assertThat(response.join().statusCode()).isEqualTo(200));
+    }
+
+    /**
+     * Эмулирует обращение к базе или другому сервису, блокирующее поток обработки запроса.
+     */
+    @RestController
+    static class BlockingController {
+
+        @GetMapping("/load/blocking")
+        public void blocking() throws InterruptedException {
+            Thread.sleep(BLOCKING_MILLIS);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.calendar.BookingCalendar;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.InMemoryItemSearch;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class InMemoryItemSearchTest {
+
+    private InMemoryItemSearch itemSearch;
+
+    private ItemRepository itemRepository;
+
+    private BookingCalendar bookingCalendar;
+
+    @BeforeEach
+    public void setUp() {
+        itemRepository = mock(ItemRepository.class);
+        bookingCalendar = mock(BookingCalendar.class);
+        itemSearch = new InMemoryItemSearch(itemRepository, bookingCalendar);
+        itemSearch.index(new Item(1L, "Щетка для кота", "Щетка для всех пород котов", true));
+        itemSearch.index(new Item(2L, "Дрель", "Дрель для всего", true));
+        itemSearch.index(new Item(3L, "Аккумулятор", "Аккумулятор для машины", true));
+        itemSearch.index(new Item(4L, "Отвертка", "Сломанная отвертка", false));
+    }
+
+    @DisplayName("JUnit test for in-memory search by substring")
+    @Test
+    public void givenSubstring_whenSearch_thenReturnMatchingItems() {
+        assertThat(ids(itemSearch.search("АККУМ", PageRequest.of(0, 10)))).containsExactly(3L);
+        assertThat(ids(itemSearch.search("для", PageRequest.of(0, 10)))).containsExactly(1L, 2L, 3L);
+        assertThat(ids(itemSearch.search("пород кот", PageRequest.of(0, 10)))).containsExactly(1L);
+        assertThat(itemSearch.search("пылесос", PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @DisplayName("JUnit test for in-memory search of unavailable items")
+    @Test
+    public void givenUnavailableItem_whenSearch_thenItemNotFound() {
+        assertThat(itemSearch.search("отвертка", PageRequest.of(0, 10))).isEmpty();
+
+        itemSearch.index(new Item(4L, "Отвертка", "Сломанная отвертка", true));
+        assertThat(ids(itemSearch.search("отвертка", PageRequest.of(0, 10)))).containsExactly(4L);
+
+        itemSearch.index(new Item(2L, "Дрель", "Дрель для всего", false));
+        assertThat(itemSearch.search("дрель", PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @DisplayName("JUnit test for in-memory search after item update")
+    @Test
+    public void givenUpdatedItem_whenSearch_thenOldTextNotFound() {
+        itemSearch.index(new Item(2L, "Перфоратор", "Перфоратор для бетона", true));
+
+        assertThat(itemSearch.search("дрель", PageRequest.of(0, 10))).isEmpty();
+        assertThat(ids(itemSearch.search("бетон", PageRequest.of(0, 10)))).containsExactly(2L);
+    }
+
+    @DisplayName("JUnit test for in-memory search paging")
+    @Test
+    public void givenPage_whenSearch_thenReturnOnlyThisPage() {
+        assertThat(ids(itemSearch.search("для", PageRequest.of(1, 2)))).containsExactly(3L);
+        assertThat(ids(itemSearch.search("о", PageRequest.of(0, 2)))).containsExactly(1L, 2L);
+    }
+
+    @DisplayName("JUnit test for in-memory search of items free for a period")
+    @Test
+    public void givenBookedItem_whenSearchForPeriod_thenItemSkipped() {
+        Timestamp start = Timestamp.valueOf("2023-01-10 10:00:00");
+        Timestamp end = Timestamp.valueOf("2023-01-20 10:00:00");
+        given(bookingCalendar.findBusyItems(List.of(1L, 2L, 3L), start, end)).willReturn(Set.of(2L));
+
+        assertThat(ids(itemSearch.search("для", start, end, PageRequest.of(0, 10)))).containsExactly(1L, 3L);
+        assertThat(ids(itemSearch.search("для", start, end, PageRequest.of(1, 1)))).containsExactly(3L);
+    }
+
+    @DisplayName("JUnit test for in-memory search of free items checked in batches")
+    @Test
+    public void givenManyBusyItems_whenSearchForPeriod_thenBusyCheckedInBatchesUntilPageFilled() {
+        Timestamp start = Timestamp.valueOf("2023-01-10 10:00:00");
+        Timestamp end = Timestamp.valueOf("2023-01-20 10:00:00");
+        for (long id = 10; id < 1210; id++) {
+            itemSearch.index(new Item(id, "Пила " + id, "Пила по дереву", true));
+        }
+        given(bookingCalendar.findBusyItems(any(), eq(start), eq(end))).willAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(id -> id < 600).collect(Collectors.toSet());
+        });
+
+        assertThat(ids(itemSearch.search("пила", start, end, PageRequest.of(0, 2)))).containsExactly(600L, 601L);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(bookingCalendar, times(2)).findBusyItems(batches.capture(), eq(start), eq(end));
+        assertThat(batches.getAllValues()).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(500));
+    }
+
+    @DisplayName("JUnit test for in-memory search after items deleted in the database")
+    @Test
+    public void givenDeletedItems_whenRemove_thenOnlyDeletedItemsNotFound() {
+        itemSearch.remove(List.of(1L, 3L, 100L));
+
+        assertThat(ids(itemSearch.search("для", PageRequest.of(0, 10)))).containsExactly(2L);
+        assertThat(itemSearch.search("аккум", PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @DisplayName("JUnit test for in-memory search index built at startup")
+    @Test
+    public void givenItemsInDatabase_whenRebuild_thenIndexMatchesDatabase() {
+        given(itemRepository.findAllByIdGreaterThanOrderById(anyLong(), any()))
+                .willReturn(new SliceImpl<>(List.of(new Item(2L, "Дрель", "Дрель для всего", true))));
+
+        itemSearch.rebuild();
+
+        assertThat(ids(itemSearch.search("для", PageRequest.of(0, 10)))).containsExactly(2L);
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+}
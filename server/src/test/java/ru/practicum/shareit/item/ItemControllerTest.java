@@ -266,6 +266,22 @@ public class ItemControllerTest {
 
     }
 
+    @DisplayName("MockMvc test for getItemByText method with period")
+    @Test
+    void givenPeriod_whenGetItemByText_thenSearchFreeItems() throws Exception {
+
+        when(itemService.findItemByText("Щетка", LocalDateTime.parse("2023-01-10T10:00:00"),
+                LocalDateTime.parse("2023-01-20T10:00:00"), 0, 10)).thenReturn(List.of(dto));
+
+        mvc.perform(get("/items/search")
+                        .param("text", "Щетка")
+                        .param("start", "2023-01-10T10:00:00")
+                        .param("end", "2023-01-20T10:00:00")
+                        .characterEncoding(StandardCharsets.UTF_8))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
     @DisplayName("MockMvc test for updateItem method")
     @Test
     public void givenItemDto_whenUpdateItem_thenReturnUpdatedItemDto() throws Exception {
@@ -377,5 +393,26 @@ public class ItemControllerTest {
 
     }
 
+    @DisplayName("MockMvc test for getItemAvailability method")
+    @Test
+    void givenPeriod_whenGetItemAvailability_thenReturnFreeWindows() throws Exception {
+        LocalDateTime from = LocalDateTime.parse("2023-03-01T00:00:00");
+        LocalDateTime to = LocalDateTime.parse("2023-04-01T00:00:00");
+        ItemAvailabilityDto availability = ItemAvailabilityDto.builder()
+                .itemId(1L)
+                .from(from)
+                .to(to)
+                .available(true)
+                .freeWindows(List.of(new ItemAvailabilityDto.Window(from, to)))
+                .build();
+        when(itemService.getAvailability(1L, from, to)).thenReturn(availability);
 
+        mvc.perform(get("/items/1/availability")
+                        .param("from", "2023-03-01T00:00:00")
+                        .param("to", "2023-04-01T00:00:00")
+                        .characterEncoding(StandardCharsets.UTF_8))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.available").value(true))
+                .andExpect(jsonPath("$.freeWindows", hasSize(1)));
+    }
 }
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
@@ -17,12 +18,15 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.Constants.NEXT_CURSOR;
 
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
@@ -45,6 +49,8 @@ public class ItemIntegrationTest {
 
     private final CommentRepository commentRepository;
 
+    private final ItemRequestRepository itemRequestRepository;
+
     private final ItemController itemController;
 
     private User user1;
@@ -96,6 +102,46 @@ public class ItemIntegrationTest {
         commentRepository.save(comment);
     }
 
+    @DisplayName("Integration test for findAllByCursor method")
+    @Test
+    public void givenSize2_whenGetAllItemsByCursor_thenScrollAllItems() {
+
+        ResponseEntity<List<ItemDto>> firstPage = itemController.getAllItemsOfUserByCursor(user1.getId(), "", 2);
+
+        assertThat(firstPage.getBody().size(), equalTo(2));
+        assertThat(firstPage.getBody().get(0).getId(), equalTo(item1.getId()));
+        assertThat(firstPage.getBody().get(0).getComments().size(), equalTo(1));
+        assertThat(firstPage.getBody().get(1).getId(), equalTo(item2.getId()));
+        String cursor = firstPage.getHeaders().getFirst(NEXT_CURSOR);
+        assertThat(cursor, notNullValue());
+
+        ResponseEntity<List<ItemDto>> secondPage = itemController.getAllItemsOfUserByCursor(user1.getId(), cursor, 2);
+
+        assertThat(secondPage.getBody().size(), equalTo(1));
+        assertThat(secondPage.getBody().get(0).getId(), equalTo(item3.getId()));
+        assertThat(secondPage.getHeaders().containsKey(NEXT_CURSOR), equalTo(false));
+    }
+
+    @DisplayName("Integration test for items deleted together with user")
+    @Test
+    public void givenOwnerAndRequester_whenFindIdsDeletedWithUser_thenOwnAndAnsweringItems() {
+        User requester = userRepository.save(new User(null, "Ivan", "ivan@gmail.com"));
+        ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                .description("Нужна пила")
+                .requester(requester)
+                .created(Timestamp.valueOf(LocalDateTime.now()))
+                .build());
+        Item answer = new Item(null, "Пила", "Пила по дереву", true);
+        answer.setOwner(user1);
+        answer.setRequest(request);
+        answer = itemRepository.save(answer);
+
+        Assertions.assertThat(itemRepository.findIdsDeletedWithUser(requester.getId()))
+                .containsExactly(answer.getId());
+        Assertions.assertThat(itemRepository.findIdsDeletedWithUser(user1.getId()))
+                .containsExactlyInAnyOrder(item1.getId(), item2.getId(), item3.getId(), answer.getId());
+    }
+
     @DisplayName("Integration test for findAllPageable method")
     @Test
     public void givenUsersItemsBookingsComment_whenGetAllItemDto_thenListOfItemDto() {
@@ -131,6 +177,26 @@ public class ItemIntegrationTest {
         assertThrows(IllegalArgumentException.class, () -> itemController.getAllItemsOfUser(10L, 1, 1));
     }
 
+    @DisplayName("Integration test for items deleted together with user")
+    @Test
+    public void givenOwnerAndRequester_whenFindIdsDeletedWithUser_thenOwnAndAnsweringItems() {
+        User requester = userRepository.save(new User(null, "Ivan", "ivan@gmail.com"));
+        ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                .description("Нужна пила")
+                .requester(requester)
+                .created(Timestamp.valueOf(LocalDateTime.now()))
+                .build());
+        Item answer = new Item(null, "Пила", "Пила по дереву", true);
+        answer.setOwner(user1);
+        answer.setRequest(request);
+        answer = itemRepository.save(answer);
+
+        Assertions.assertThat(itemRepository.findIdsDeletedWithUser(requester.getId()))
+                .containsExactly(answer.getId());
+        Assertions.assertThat(itemRepository.findIdsDeletedWithUser(user1.getId()))
+                .containsExactlyInAnyOrder(item1.getId(), item2.getId(), item3.getId(), answer.getId());
+    }
+
     @DisplayName("Integration test for findAllPageable method")
     @Test
     public void givenSize1AndFrom1_whenFindAllPageable_thenReturnOnePage() {
@@ -146,11 +212,44 @@ public class ItemIntegrationTest {
     @Test
     public void givenText_whenFindItemByText_thenItemDto() {
 
-        List<ItemDto> grandAnswerList = itemController.getItemByText("Вещь", 0, 3);
+        List<ItemDto> grandAnswerList = itemController.getItemByText("Вещь", null, null, 0, 3);
 
         Assertions.assertThat(grandAnswerList.size()).isEqualTo(1);
         Assertions.assertThat(grandAnswerList.get(0).getId()).isEqualTo(1);
         Assertions.assertThat(grandAnswerList.get(0).getDescription()).isEqualTo("Хорошая вещь");
 
     }
+
+    @DisplayName("Integration test for findItemByText method")
+    @Test
+    public void givenUnavailableItem_whenFindItemByText_thenItemNotFound() {
+
+        item3.setAvailable(false);
+        itemRepository.save(item3);
+
+        List<ItemDto> grandAnswerList = itemController.getItemByText("для всего", null, null, 0, 3);
+
+        Assertions.assertThat(grandAnswerList).isEmpty();
+    }
+
+    @DisplayName("Integration test for findItemByText method with period")
+    @Test
+    public void givenBookedItems_whenFindItemByTextForPeriod_thenOnlyFreeItems() {
+
+        bookingRepository.save(new Booking(null, Timestamp.valueOf("2023-01-01 10:00:00"),
+                Timestamp.valueOf("2023-02-01 10:00:00"), item2, item1.getOwner(), BookingStatus.WAITING));
+        bookingRepository.save(new Booking(null, Timestamp.valueOf("2023-01-01 10:00:00"),
+                Timestamp.valueOf("2023-02-01 10:00:00"), item3, item1.getOwner(), BookingStatus.REJECTED));
+
+        List<ItemDto> inJanuary = itemController.getItemByText("для",
+                LocalDateTime.parse("2023-01-10T10:00:00"), LocalDateTime.parse("2023-01-20T10:00:00"), 0, 3);
+        List<ItemDto> inFebruary = itemController.getItemByText("для",
+                LocalDateTime.parse("2023-02-01T10:00:00"), LocalDateTime.parse("2023-02-10T10:00:00"), 0, 3);
+        List<ItemDto> bookedByApproved = itemController.getItemByText("Вещь",
+                LocalDateTime.parse("2023-01-10T10:00:00"), LocalDateTime.parse("2023-01-20T10:00:00"), 0, 3);
+
+        Assertions.assertThat(inJanuary).extracting(ItemDto::getId).containsExactly(item3.getId());
+        Assertions.assertThat(inFebruary).extracting(ItemDto::getId).containsExactly(item2.getId(), item3.getId());
+        Assertions.assertThat(bookedByApproved).isEmpty();
+    }
 }
@@ -1,23 +1,29 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.calendar.BookingCalendar;
+import ru.practicum.shareit.booking.calendar.BusyInterval;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearch;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.item.service.ItemViewCache;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.UserRepository;
@@ -25,6 +31,8 @@ import ru.practicum.shareit.user.model.User;
 
 import javax.validation.ValidationException;
 import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -55,12 +63,22 @@ public class ItemServiceTest {
     @Mock
     private ItemRequestRepository itemRequestRepository;
 
+    @Mock
+    private ItemSearch itemSearch;
+
     @Mock
     private CommentMapper commentMapper;
 
     @Mock
     private ItemMapper mapper;
 
+    @Mock
+    private BookingCalendar bookingCalendar;
+
+    @Spy
+    private ItemViewCache itemViewCache = new ItemViewCache(100, Duration.ofMinutes(1),
+            new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+
 
     @InjectMocks
     private ItemServiceImpl itemService;
@@ -103,7 +121,8 @@ public class ItemServiceTest {
                 itemRepository,
                 bookingRepository,
                 commentRepository,
-                itemRequestRepository
+                itemRequestRepository,
+                itemSearch
         );
     }
 
@@ -133,6 +152,9 @@ public class ItemServiceTest {
         verify(itemRepository, times(1))
                 .save(any());
 
+        verify(itemSearch, times(1))
+                .index(item);
+
     }
 
     @DisplayName("JUnit test for create method")
@@ -180,6 +202,9 @@ public class ItemServiceTest {
         verify(itemRepository, times(1))
                 .save(any());
 
+        verify(itemSearch, times(1))
+                .index(item);
+
     }
 
 
@@ -261,6 +286,9 @@ public class ItemServiceTest {
         verify(itemRepository, times(1))
                 .save(any());
 
+        verify(itemSearch, times(1))
+                .index(item);
+
     }
 
     @DisplayName("JUnit test for update method (negative scenario)")
@@ -287,12 +315,15 @@ public class ItemServiceTest {
         given(mapper.fromItem(item)).willReturn(itemDto);
         item.setOwner(user);
         given(commentRepository.findAllByItemId(itemDto.getId())).willReturn(Collections.emptyList());
-        given(bookingRepository.findAllByItemId(itemDto.getId())).willReturn(Collections.emptyList());
+        given(bookingRepository.findLastBookingsOfItems(eq(List.of(itemDto.getId())), eq(BookingStatus.APPROVED), any()))
+                .willReturn(Collections.emptyList());
+        given(bookingRepository.findNextBookingsOfItems(eq(List.of(itemDto.getId())), any()))
+                .willReturn(Collections.emptyList());
 
         Optional<ItemDto> itemFound = itemService.getItemByIdForAllUser(user.getId(), item.getId());
 
         assertThat(itemFound).isNotNull();
-        assertThat(itemFound).isEqualTo(Optional.of(itemDto));
+        assertThat(itemFound).get().usingRecursiveComparison().isEqualTo(itemDto);
 
         verify(itemRepository, times(1))
                 .findById(any());
@@ -301,9 +332,107 @@ public class ItemServiceTest {
                 .findAllByItemId(any());
 
         verify(bookingRepository, times(1))
+                .findLastBookingsOfItems(any(), any(), any());
+
+        verify(bookingRepository, times(1))
+                .findNextBookingsOfItems(any(), any());
+    }
+
+    @DisplayName("JUnit test for getItemByIdForAllUser method")
+    @Test
+    public void givenNotOwnerId_whenGetItemById_thenReturnItemObjectWithoutBookings() {
+
+        given(itemRepository.findById(item.getId())).willReturn(Optional.of(item));
+        given(mapper.fromItem(item)).willReturn(itemDto);
+        item.setOwner(user);
+        given(commentRepository.findAllByItemId(itemDto.getId())).willReturn(Collections.emptyList());
+
+        Optional<ItemDto> itemFound = itemService.getItemByIdForAllUser(2L, item.getId());
+
+        assertThat(itemFound).get().usingRecursiveComparison().isEqualTo(itemDto);
+        assertThat(itemFound.get().getLastBooking()).isNull();
+        assertThat(itemFound.get().getNextBooking()).isNull();
+
+        verify(itemRepository, times(1))
+                .findById(any());
+
+        verify(commentRepository, times(1))
+                .findAllByItemId(any());
+    }
+
+    @DisplayName("JUnit test for getItemByIdForAllUser method (cached view)")
+    @Test
+    public void givenRepeatedNotOwnerRequests_whenGetItemById_thenItemLoadedOnce() {
+
+        given(itemRepository.findById(item.getId())).willReturn(Optional.of(item));
+        given(mapper.fromItem(item)).willReturn(itemDto);
+        item.setOwner(user);
+        given(commentRepository.findAllByItemId(itemDto.getId())).willReturn(Collections.emptyList());
+
+        itemService.getItemByIdForAllUser(2L, item.getId());
+        Optional<ItemDto> itemFound = itemService.getItemByIdForAllUser(3L, item.getId());
+
+        assertThat(itemFound).get().usingRecursiveComparison().isEqualTo(itemDto);
+
+        verify(itemRepository, times(1))
+                .findById(any());
+
+        verify(commentRepository, times(1))
                 .findAllByItemId(any());
     }
 
+    @DisplayName("JUnit test for getItemByIdForAllUser method (cached view is not shared)")
+    @Test
+    public void givenChangedResult_whenGetItemByIdAgain_thenCachedViewUnchanged() {
+
+        given(itemRepository.findById(item.getId())).willReturn(Optional.of(item));
+        given(mapper.fromItem(item)).willReturn(itemDto);
+        item.setOwner(user);
+        given(commentRepository.findAllByItemId(itemDto.getId())).willReturn(Collections.emptyList());
+
+        ItemDto first = itemService.getItemByIdForAllUser(2L, item.getId()).get();
+        first.setName("Другое название");
+        first.getComments().add(CommentDto.builder().id(99L).text("Чужой комментарий").build());
+        ItemDto second = itemService.getItemByIdForAllUser(3L, item.getId()).get();
+
+        assertThat(second.getName()).isEqualTo(itemDto.getName());
+        assertThat(second.getComments()).isEmpty();
+
+        verify(itemRepository, times(1))
+                .findById(any());
+    }
+
+    @DisplayName("JUnit test for getItemByIdForAllUser method (cache eviction)")
+    @Test
+    public void givenUpdatedItem_whenGetItemById_thenItemReloaded() {
+
+        given(itemRepository.findById(item.getId())).willReturn(Optional.of(item));
+        given(mapper.fromItem(item)).willReturn(itemDto);
+        item.setOwner(user);
+        given(commentRepository.findAllByItemId(itemDto.getId())).willReturn(Collections.emptyList());
+        given(itemRepository.findByIdAndOwnerId(item.getId(), user.getId())).willReturn(Optional.of(item));
+        given(itemRepository.save(item)).willReturn(item);
+
+        itemService.getItemByIdForAllUser(2L, item.getId());
+        itemService.update(user.getId(), item.getId(), itemDto);
+        itemService.getItemByIdForAllUser(2L, item.getId());
+
+        verify(itemRepository, times(2))
+                .findById(any());
+
+        verify(commentRepository, times(2))
+                .findAllByItemId(any());
+
+        verify(itemRepository, times(1))
+                .findByIdAndOwnerId(any(), any());
+
+        verify(itemRepository, times(1))
+                .save(any());
+
+        verify(itemSearch, times(1))
+                .index(item);
+    }
+
     @DisplayName("JUnit test for getItemByIdForAllUser method (negative scenario)")
     @Test
     public void givenItemDtoIdWrong_whenGetItemById_thenThrowException() {
@@ -319,7 +448,7 @@ public class ItemServiceTest {
                 .findAllByItemId(any());
 
         verify(bookingRepository, times(0))
-                .findAllByItemId(any());
+                .findLastBookingsOfItems(any(), any(), any());
 
     }
 
@@ -327,13 +456,16 @@ public class ItemServiceTest {
     @Test
     public void givenUserId_whenGetListItemDtoByOwnerId_thenReturnListOfItemDto() {
 
-        Page<Item> page = new PageImpl<>(List.of(item));
+        Slice<Item> page = new SliceImpl<>(List.of(item));
 
 
         given(itemRepository.findAllByOwnerId(1L, PageRequest.of(0, 2))).willReturn(page);
         given(mapper.fromItem(item)).willReturn(itemDto);
-        given(bookingRepository.findAllByItemId(itemDto.getId())).willReturn(Collections.emptyList());
-        given(commentRepository.findAllByItemId(itemDto.getId())).willReturn(Collections.emptyList());
+        given(bookingRepository.findLastBookingsOfItems(eq(List.of(item.getId())), eq(BookingStatus.APPROVED), any()))
+                .willReturn(Collections.emptyList());
+        given(bookingRepository.findNextBookingsOfItems(eq(List.of(item.getId())), any()))
+                .willReturn(Collections.emptyList());
+        given(commentRepository.findAllByItemIdIn(List.of(item.getId()))).willReturn(Collections.emptyList());
 
         List<ItemDto> itemDtoList = itemService.findAllPageable(1L, 0, 2);
 
@@ -344,10 +476,73 @@ public class ItemServiceTest {
                 .findAllByOwnerId(1L, PageRequest.of(0, 2));
 
         verify(commentRepository, times(1))
-                .findAllByItemId(any());
+                .findAllByItemIdIn(any());
 
         verify(bookingRepository, times(1))
-                .findAllByItemId(any());
+                .findLastBookingsOfItems(any(), any(), any());
+
+        verify(bookingRepository, times(1))
+                .findNextBookingsOfItems(any(), any());
+
+    }
+
+    @DisplayName("JUnit test for findAllPageable method")
+    @Test
+    public void givenSeveralItems_whenGetListItemDtoByOwnerId_thenBookingsAndCommentsLoadedOnce() {
+
+        Item item2 = new Item(2L, "Дрель", "Дрель для всего", true);
+        ItemDto itemDto2 = ItemDto.builder()
+                .id(2L)
+                .name("Дрель")
+                .description("Дрель для всего")
+                .available(true)
+                .build();
+
+        User booker = new User(3L, "Alla", "alla@36on.ru");
+        Booking lastBooking = new Booking(1L, Timestamp.valueOf("2022-11-12 00:03:04"),
+                Timestamp.valueOf("2022-11-13 00:03:04"), item2, booker, BookingStatus.APPROVED);
+
+        Comment comment = new Comment(1L, "Хорошая щетка, моему коту подошла");
+        comment.setItem(item);
+        comment.setAuthor(booker);
+        CommentDto commentDto = CommentDto.builder()
+                .id(1L)
+                .text("Хорошая щетка, моему коту подошла")
+                .authorName("Alla")
+                .build();
+
+        Slice<Item> page = new SliceImpl<>(List.of(item, item2));
+
+        given(itemRepository.findAllByOwnerId(1L, PageRequest.of(0, 2))).willReturn(page);
+        given(mapper.fromItem(item)).willReturn(itemDto);
+        given(mapper.fromItem(item2)).willReturn(itemDto2);
+        given(bookingRepository.findLastBookingsOfItems(eq(List.of(1L, 2L)), eq(BookingStatus.APPROVED), any()))
+                .willReturn(List.of(lastBooking));
+        given(bookingRepository.findNextBookingsOfItems(eq(List.of(1L, 2L)), any()))
+                .willReturn(Collections.emptyList());
+        given(commentRepository.findAllByItemIdIn(List.of(1L, 2L))).willReturn(List.of(comment));
+        given(commentMapper.toDto(comment)).willReturn(commentDto);
+
+        List<ItemDto> itemDtoList = itemService.findAllPageable(1L, 0, 2);
+
+        assertThat(itemDtoList.size()).isEqualTo(2);
+        assertThat(itemDtoList.get(0).getComments()).containsExactly(commentDto);
+        assertThat(itemDtoList.get(0).getLastBooking()).isNull();
+        assertThat(itemDtoList.get(1).getComments()).isEmpty();
+        assertThat(itemDtoList.get(1).getLastBooking().getId()).isEqualTo(lastBooking.getId());
+        assertThat(itemDtoList.get(1).getLastBooking().getBookerId()).isEqualTo(booker.getId());
+
+        verify(itemRepository, times(1))
+                .findAllByOwnerId(1L, PageRequest.of(0, 2));
+
+        verify(commentRepository, times(1))
+                .findAllByItemIdIn(any());
+
+        verify(bookingRepository, times(1))
+                .findLastBookingsOfItems(any(), any(), any());
+
+        verify(bookingRepository, times(1))
+                .findNextBookingsOfItems(any(), any());
 
     }
 
@@ -359,7 +554,7 @@ public class ItemServiceTest {
         int from = 1;
         int size = 1;
 
-        Page<Item> page = new PageImpl<>(Collections.emptyList());
+        Slice<Item> page = new SliceImpl<>(Collections.emptyList());
 
         given(itemRepository.findAllByOwnerId(3L, PageRequest.of(from, size))).willReturn(page);
 
@@ -369,10 +564,10 @@ public class ItemServiceTest {
                 .findAllByOwnerId(3L, PageRequest.of(from, size));
 
         verify(commentRepository, times(0))
-                .findAllByItemId(any());
+                .findAllByItemIdIn(any());
 
         verify(bookingRepository, times(0))
-                .findAllByItemId(any());
+                .findLastBookingsOfItems(any(), any(), any());
 
     }
 
@@ -388,7 +583,7 @@ public class ItemServiceTest {
 
         assertThat(retrievedDto).isEmpty();
 
-        verify(itemRepository, times(0))
+        verify(itemSearch, times(0))
                 .search(text, PageRequest.of(from, size));
     }
 
@@ -404,7 +599,7 @@ public class ItemServiceTest {
 
         assertThat(retrievedDto).isEmpty();
 
-        verify(itemRepository, times(0))
+        verify(itemSearch, times(0))
                 .search(text, PageRequest.of(from, size));
     }
 
@@ -416,10 +611,7 @@ public class ItemServiceTest {
         int from = 0;
         int size = 1;
 
-        Page<Item> page = new PageImpl<>(List.of(item));
-
-
-        given(itemRepository.search(text, PageRequest.of(from, size))).willReturn(page);
+        given(itemSearch.search(text, PageRequest.of(from, size))).willReturn(List.of(item));
         given(mapper.fromItem(item)).willReturn(itemDto);
 
         List<ItemDto> retrievedDto = itemService.findItemByText(text, from, size);
@@ -427,10 +619,38 @@ public class ItemServiceTest {
         assertThat(retrievedDto.size()).isEqualTo(1);
         assertThat(retrievedDto.get(0)).isEqualTo(itemDto);
 
-        verify(itemRepository, times(1))
+        verify(itemSearch, times(1))
                 .search(text, PageRequest.of(from, size));
     }
 
+    @DisplayName("JUnit test for findItemByText method with period")
+    @Test
+    public void givenTextAndPeriod_whenGetListItemDtoByText_thenSearchFreeItems() {
+
+        String text = "Щетка для кота";
+        LocalDateTime start = LocalDateTime.parse("2023-01-10T10:00:00");
+        LocalDateTime end = LocalDateTime.parse("2023-01-20T10:00:00");
+
+        given(itemSearch.search(text, Timestamp.valueOf(start), Timestamp.valueOf(end), PageRequest.of(0, 1)))
+                .willReturn(List.of(item));
+        given(mapper.fromItem(item)).willReturn(itemDto);
+
+        List<ItemDto> retrievedDto = itemService.findItemByText(text, start, end, 0, 1);
+
+        assertThat(retrievedDto).containsExactly(itemDto);
+    }
+
+    @DisplayName("JUnit test for findItemByText method with period (negative scenario)")
+    @Test
+    public void givenIncompletePeriod_whenGetListItemDtoByText_thenThrowException() {
+
+        LocalDateTime start = LocalDateTime.parse("2023-01-10T10:00:00");
+
+        assertThrows(ValidationException.class, () -> itemService.findItemByText("дрель", start, null, 0, 1));
+        assertThrows(ValidationException.class, () -> itemService.findItemByText("дрель", start, start, 0, 1));
+        verifyNoInteractions(itemSearch);
+    }
+
     @DisplayName("JUnit test for addCommentToItem method")
     @Test
     public void givenComment_whenAddCommentToItem_thenReturnCommentDto() {
@@ -571,4 +791,69 @@ public class ItemServiceTest {
 
     }
 
+    @DisplayName("JUnit test for getAvailability method")
+    @Test
+    public void givenBookedDays_whenGetAvailability_thenReturnFreeWindows() {
+        LocalDateTime from = LocalDateTime.parse("2023-03-01T00:00:00");
+        LocalDateTime to = LocalDateTime.parse("2023-04-01T00:00:00");
+        given(itemRepository.findById(item.getId())).willReturn(Optional.of(item));
+        given(bookingCalendar.findBusy(item.getId(), Timestamp.valueOf(from), Timestamp.valueOf(to)))
+                .willReturn(List.of(
+                        new BusyInterval(Timestamp.valueOf("2023-02-25 00:00:00"), Timestamp.valueOf("2023-03-05 00:00:00")),
+                        new BusyInterval(Timestamp.valueOf("2023-03-10 00:00:00"), Timestamp.valueOf("2023-03-12 00:00:00"))));
+
+        ItemAvailabilityDto availability = itemService.getAvailability(item.getId(), from, to);
+
+        assertThat(availability.getAvailable()).isFalse();
+        assertThat(availability.getFreeWindows()).hasSize(2);
+        assertThat(availability.getFreeWindows().get(0).getStart()).isEqualTo("2023-03-05T00:00:00");
+        assertThat(availability.getFreeWindows().get(0).getEnd()).isEqualTo("2023-03-10T00:00:00");
+        assertThat(availability.getFreeWindows().get(1).getStart()).isEqualTo("2023-03-12T00:00:00");
+        assertThat(availability.getFreeWindows().get(1).getEnd()).isEqualTo(to);
+
+        verify(itemRepository, times(1))
+                .findById(any());
+    }
+
+    @DisplayName("JUnit test for getAvailability method")
+    @Test
+    public void givenNoBookings_whenGetAvailability_thenWholePeriodFree() {
+        LocalDateTime from = LocalDateTime.parse("2023-03-01T00:00:00");
+        LocalDateTime to = LocalDateTime.parse("2023-04-01T00:00:00");
+        given(itemRepository.findById(item.getId())).willReturn(Optional.of(item));
+        given(bookingCalendar.findBusy(any(), any(), any())).willReturn(Collections.emptyList());
+
+        ItemAvailabilityDto availability = itemService.getAvailability(item.getId(), from, to);
+
+        assertThat(availability.getAvailable()).isTrue();
+        assertThat(availability.getFreeWindows()).hasSize(1);
+        assertThat(availability.getFreeWindows().get(0).getStart()).isEqualTo(from);
+
+        verify(itemRepository, times(1))
+                .findById(any());
+    }
+
+    @DisplayName("JUnit test for getAvailability method (negative scenario)")
+    @Test
+    public void givenUnavailableItem_whenGetAvailability_thenNoFreeWindows() {
+        item.setAvailable(false);
+        given(itemRepository.findById(item.getId())).willReturn(Optional.of(item));
+
+        ItemAvailabilityDto availability = itemService.getAvailability(item.getId(),
+                LocalDateTime.parse("2023-03-01T00:00:00"), LocalDateTime.parse("2023-04-01T00:00:00"));
+
+        assertThat(availability.getAvailable()).isFalse();
+        assertThat(availability.getFreeWindows()).isEmpty();
+
+        verify(itemRepository, times(1))
+                .findById(any());
+        verifyNoInteractions(bookingCalendar);
+    }
+
+    @DisplayName("JUnit test for getAvailability method (negative scenario)")
+    @Test
+    public void givenEndBeforeStart_whenGetAvailability_thenThrowException() {
+        assertThrows(ValidationException.class, () -> itemService.getAvailability(item.getId(),
+                LocalDateTime.parse("2023-04-01T00:00:00"), LocalDateTime.parse("2023-03-01T00:00:00")));
+    }
 }
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.model.Item;
@@ -14,12 +15,14 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import javax.validation.ValidationException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.Constants.NEXT_CURSOR;
 
 @Transactional
 @SpringBootTest(
@@ -89,6 +92,49 @@ public class ItemRequestIntegrationTest {
         assertThat(itemRequestDtoList.get(0).getItems().get(0).getName()).isEqualTo("Лопата");
     }
 
+    @DisplayName("Integration test for findAllByCursor method")
+    @Test
+    public void givenSize1_whenFindAllByCursor_thenScrollOtherUsersRequests() {
+
+        ResponseEntity<List<ItemRequestDto>> firstPage = itemRequestController.findAllByCursor(user1.getId(), "", 1);
+
+        assertThat(firstPage.getBody()).hasSize(1);
+        assertThat(firstPage.getBody().get(0).getId()).isEqualTo(2);
+        assertThat(firstPage.getBody().get(0).getItems().get(0).getName()).isEqualTo("Лопата");
+        String cursor = firstPage.getHeaders().getFirst(NEXT_CURSOR);
+
+        ResponseEntity<List<ItemRequestDto>> secondPage = itemRequestController.findAllByCursor(user1.getId(), cursor, 1);
+
+        assertThat(secondPage.getBody()).hasSize(1);
+        assertThat(secondPage.getBody().get(0).getId()).isEqualTo(1);
+        assertThat(secondPage.getHeaders().containsKey(NEXT_CURSOR)).isFalse();
+    }
+
+    @DisplayName("Integration test for findAllByCursor method (negative scenario)")
+    @Test
+    public void givenBrokenCursor_whenFindAllByCursor_thenThrowException() {
+
+        assertThrows(ValidationException.class,
+                () -> itemRequestController.findAllByCursor(user1.getId(), "не курсор", 1));
+    }
+
+    @DisplayName("Integration test for findAllPageable method")
+    @Test
+    public void givenOwnNewestRequest_whenFindAllPageable_thenReturnFullPageOfOtherRequests() {
+
+        itemRequestRepository.save(ItemRequest.builder()
+                .description("Ищу палатку")
+                .created(Timestamp.valueOf(LocalDateTime.parse("2022-12-25T20:00:57")))
+                .requester(user1)
+                .build());
+
+        List<ItemRequestDto> itemRequestDtoList = itemRequestController.findAllPageable(user1.getId(), 0, 2);
+
+        assertThat(itemRequestDtoList.size()).isEqualTo(2);
+        assertThat(itemRequestDtoList.get(0).getId()).isEqualTo(2);
+        assertThat(itemRequestDtoList.get(1).getId()).isEqualTo(1);
+    }
+
     @DisplayName("Integration test for findAllPageable method (negative scenario)")
     @Test
     public void givenIncorrectUserid_whenFindAllPageable_thenThrowException() {
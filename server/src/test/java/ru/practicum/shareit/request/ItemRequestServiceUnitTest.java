@@ -48,7 +48,7 @@ public class ItemRequestServiceUnitTest {
     private ItemRequest request;
     private User user;
 
-    private static final Sort SORT = Sort.by(Sort.Direction.DESC, "created");
+    private static final Sort SORT = Sort.by(Sort.Direction.DESC, "created", "id");
 
     @BeforeEach
     public void setUp() {
@@ -121,7 +121,7 @@ public class ItemRequestServiceUnitTest {
         given(userRepository.existsById(anyLong())).willReturn(true);
         given(itemRequestRepository.findAllByRequesterId(1L, SORT)).willReturn(List.of(request));
         given(itemRequestMapper.toDto(request)).willReturn(dto);
-        given(itemRepository.findAllByRequestId(request.getId())).willReturn(Collections.emptyList());
+        given(itemRepository.findAllByRequestIdIn(List.of(request.getId()))).willReturn(Collections.emptyList());
 
         List<ItemRequestDto> dtoList = itemRequestService.findAll(1L);
 
@@ -136,7 +136,7 @@ public class ItemRequestServiceUnitTest {
                 .findAllByRequesterId(any(), any());
 
         verify(itemRepository, times(1))
-                .findAllByRequestId(any());
+                .findAllByRequestIdIn(any());
 
     }
 
@@ -145,11 +145,12 @@ public class ItemRequestServiceUnitTest {
     public void givenUserId_whenFindAll_thenReturnListOfItemRequestDtoWithItems() {
 
         Item item = new Item(1L,"Щетка для кота","Щетка для всех пород котов",true);
+        item.setRequest(request);
 
         given(userRepository.existsById(anyLong())).willReturn(true);
         given(itemRequestRepository.findAllByRequesterId(1L, SORT)).willReturn(List.of(request));
         given(itemRequestMapper.toDto(request)).willReturn(dto);
-        given(itemRepository.findAllByRequestId(request.getId())).willReturn(List.of(item));
+        given(itemRepository.findAllByRequestIdIn(List.of(request.getId()))).willReturn(List.of(item));
 
         List<ItemRequestDto> dtoList = itemRequestService.findAll(1L);
 
@@ -164,7 +165,7 @@ public class ItemRequestServiceUnitTest {
                 .findAllByRequesterId(any(), any());
 
         verify(itemRepository, times(1))
-                .findAllByRequestId(any());
+                .findAllByRequestIdIn(any());
 
     }
 
@@ -198,8 +199,8 @@ public class ItemRequestServiceUnitTest {
         given(itemRequestRepository.findAllByRequesterId(1L, SORT)).willReturn(requests);
         given(itemRequestMapper.toDto(request)).willReturn(dto);
         given(itemRequestMapper.toDto(newReq)).willReturn(dto2);
-        given(itemRepository.findAllByRequestId(request.getId())).willReturn(Collections.emptyList());
-        given(itemRepository.findAllByRequestId(newReq.getId())).willReturn(Collections.emptyList());
+        given(itemRepository.findAllByRequestIdIn(List.of(newReq.getId(), request.getId())))
+                .willReturn(Collections.emptyList());
 
         List<ItemRequestDto> sortedDtoList = itemRequestService.findAll(1L);
 
@@ -215,8 +216,8 @@ public class ItemRequestServiceUnitTest {
         verify(itemRequestRepository, times(1))
                 .findAllByRequesterId(any(), any());
 
-        verify(itemRepository, times(2))
-                .findAllByRequestId(any());
+        verify(itemRepository, times(1))
+                .findAllByRequestIdIn(any());
 
     }
 
@@ -255,7 +256,7 @@ public class ItemRequestServiceUnitTest {
                 .findAllByRequesterId(any(), any());
 
         verify(itemRepository, times(0))
-                .findAllByRequestId(any());
+                .findAllByRequestIdIn(any());
 
     }
 
@@ -281,14 +282,14 @@ public class ItemRequestServiceUnitTest {
 
         request.setRequester(user3);
 
-        Page<ItemRequest> page = new PageImpl<>(List.of(newReq, request));
+        Slice<ItemRequest> page = new SliceImpl<>(List.of(newReq, request));
 
         given(userRepository.existsById(anyLong())).willReturn(true);
-        given(itemRequestRepository.findAll(PageRequest.of(0, 5, SORT))).willReturn(page);
+        given(itemRequestRepository.findAllByRequesterIdNot(user.getId(), PageRequest.of(0, 5, SORT))).willReturn(page);
         given(itemRequestMapper.toDto(request)).willReturn(dto);
-        given(itemRepository.findAllByRequestId(request.getId())).willReturn(Collections.emptyList());
         given(itemRequestMapper.toDto(newReq)).willReturn(dto2);
-        given(itemRepository.findAllByRequestId(newReq.getId())).willReturn(Collections.emptyList());
+        given(itemRepository.findAllByRequestIdIn(List.of(newReq.getId(), request.getId())))
+                .willReturn(Collections.emptyList());
 
         List<ItemRequestDto> finalList = itemRequestService.findAllPageable(user.getId(), 0, 5);
 
@@ -299,10 +300,10 @@ public class ItemRequestServiceUnitTest {
                 .existsById(any());
 
         verify(itemRequestRepository, times(1))
-                .findAll(PageRequest.of(0, 5, SORT));
+                .findAllByRequesterIdNot(any(), any());
 
-        verify(itemRepository, times(2))
-                .findAllByRequestId(any());
+        verify(itemRepository, times(1))
+                .findAllByRequestIdIn(any());
     }
 
 
@@ -310,9 +311,9 @@ public class ItemRequestServiceUnitTest {
     @Test
     public void givenUserIdFromAndSize_whenFindAllPageable_thenReturnEmptyListOfItemRequestDto() {
 
-        Page<ItemRequest> page = new PageImpl<>(Collections.emptyList());
+        Slice<ItemRequest> page = new SliceImpl<>(Collections.emptyList());
         given(userRepository.existsById(anyLong())).willReturn(true);
-        given(itemRequestRepository.findAll(PageRequest.of(0, 5, SORT))).willReturn(page);
+        given(itemRequestRepository.findAllByRequesterIdNot(user.getId(), PageRequest.of(0, 5, SORT))).willReturn(page);
 
         List<ItemRequestDto> emptyList = itemRequestService.findAllPageable(user.getId(), 0, 5);
 
@@ -322,10 +323,10 @@ public class ItemRequestServiceUnitTest {
                 .existsById(any());
 
         verify(itemRequestRepository, times(1))
-                .findAll(PageRequest.of(0, 5, SORT));
+                .findAllByRequesterIdNot(any(), any());
 
         verify(itemRepository, times(0))
-                .findAllByRequestId(any());
+                .findAllByRequestIdIn(any());
     }
 
     @DisplayName("JUnit test for findAllPageable method (negative scenario)")
@@ -340,10 +341,10 @@ public class ItemRequestServiceUnitTest {
                 .existsById(any());
 
         verify(itemRequestRepository, times(0))
-                .findAll(PageRequest.of(0, 5, SORT));
+                .findAllByRequesterIdNot(any(), any());
 
         verify(itemRepository, times(0))
-                .findAllByRequestId(any());
+                .findAllByRequestIdIn(any());
 
     }
 
@@ -354,7 +355,7 @@ public class ItemRequestServiceUnitTest {
         given(userRepository.existsById(anyLong())).willReturn(true);
         given(itemRequestRepository.findById(request.getId())).willReturn(Optional.ofNullable(request));
         given(itemRequestMapper.toDto(request)).willReturn(dto);
-        given(itemRepository.findAllByRequestId(request.getId())).willReturn(Collections.emptyList());
+        given(itemRepository.findAllByRequestIdIn(List.of(request.getId()))).willReturn(Collections.emptyList());
 
         ItemRequestDto findDto = itemRequestService.findItemRequestById(user.getId(), request.getId());
 
@@ -368,7 +369,7 @@ public class ItemRequestServiceUnitTest {
                 .findById(any());
 
         verify(itemRepository, times(1))
-                .findAllByRequestId(any());
+                .findAllByRequestIdIn(any());
 
     }
 
@@ -389,7 +390,7 @@ public class ItemRequestServiceUnitTest {
                 .findById(any());
 
         verify(itemRepository, times(0))
-                .findAllByRequestId(any());
+                .findAllByRequestIdIn(any());
 
     }
 
@@ -408,7 +409,7 @@ public class ItemRequestServiceUnitTest {
                 .findById(any());
 
         verify(itemRepository, times(0))
-                .findAllByRequestId(any());
+                .findAllByRequestIdIn(any());
 
     }
 
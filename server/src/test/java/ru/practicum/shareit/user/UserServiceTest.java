@@ -9,11 +9,23 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.calendar.BookingCalendar;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearch;
+import ru.practicum.shareit.item.service.ItemViewCache;
+import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -32,6 +44,28 @@ public class UserServiceTest {
 
     @Mock
     private UserMapper mapper;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache secondLevelCache;
+
+    @Mock
+    private ItemViewCache itemViewCache;
+
+    @Mock
+    private BookingCalendar bookingCalendar;
+
+    @Mock
+    private ItemSearch itemSearch;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -224,12 +258,25 @@ public class UserServiceTest {
 
         Long userId = 1L;
 
+        Item foreignItem = new Item(7L, "Дрель", "Дрель для всего", true);
+        Booking booking = new Booking(3L, Timestamp.valueOf("2023-01-12 10:09:00"),
+                Timestamp.valueOf("2023-01-13 10:09:00"), foreignItem, user, BookingStatus.WAITING);
+        given(itemRepository.findIdsDeletedWithUser(userId)).willReturn(List.of(1L, 5L));
+        given(bookingRepository.findAllWithItemByBookerIdAndStatusIn(userId, BookingStatus.ACTIVE))
+                .willReturn(List.of(booking));
         willDoNothing().given(userRepository).deleteById(userId);
+        given(entityManagerFactory.getCache()).willReturn(secondLevelCache);
 
         userService.deleteUserById(userId);
 
         verify(userRepository, times(1))
                 .deleteById(userId);
+        verify(secondLevelCache).evict(Item.class);
+        verify(secondLevelCache).evict(ItemRequest.class);
+        verify(itemViewCache).evictAll();
+        verify(bookingCalendar).release(booking);
+        verify(bookingCalendar).evict(List.of(1L, 5L));
+        verify(itemSearch).remove(List.of(1L, 5L));
     }
 
 }